@@ -0,0 +1,191 @@
+package com.tft.batch.client;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Riot 응답마다 오는 X-App-Rate-Limit(-Count), X-Method-Rate-Limit(-Count) 헤더를 읽어
+ * 메서드(match-by-id, match-ids, league, summoner)별 호출 간격과 동시 요청 수를 조정합니다.
+ * <ul>
+ *     <li>호출 간격: 메서드 한도의 target-utilization(기본 95%)을 넘지 않도록 윈도우별 최소 간격 중 가장 긴 값을 사용합니다.</li>
+ *     <li>동시 요청 수: 사용량이 목표치 아래면 하나씩 늘리고, 목표치를 넘거나 429 를 받으면 절반으로 줄입니다. (AIMD)</li>
+ * </ul>
+ * 앱 키 한도는 {@link RiotRateLimiter#updateLimits} 로 넘겨 호스트 단위 공유 윈도우에 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveRateController {
+
+    public static final String MATCH_BY_ID = "match-by-id";
+    public static final String MATCH_IDS = "match-ids";
+    public static final String LEAGUE = "league";
+    public static final String SUMMONER = "summoner";
+    public static final String OTHER = "other";
+
+    private final RiotRateLimiter rateLimiter;
+    private final Map<String, MethodState> methods = new ConcurrentHashMap<>();
+
+    @Value("${riot.rate-limit.target-utilization:0.95}")
+    private double targetUtilization;
+
+    @Value("${riot.rate-limit.max-in-flight:16}")
+    private int maxInFlight;
+
+    /**
+     * API 경로로 Riot 메서드 한도가 적용되는 단위를 구분합니다.
+     */
+    public static String methodOf(String path) {
+        if (path.startsWith("/tft/match/v1/matches/by-puuid/")) return MATCH_IDS;
+        if (path.startsWith("/tft/match/v1/matches/")) return MATCH_BY_ID;
+        if (path.startsWith("/tft/league/")) return LEAGUE;
+        if (path.startsWith("/tft/summoner/")) return SUMMONER;
+        return OTHER;
+    }
+
+    /**
+     * 동시 요청 수에 여유가 생기고 메서드 호출 간격이 지날 때까지 대기합니다.
+     * 호출한 쪽은 요청이 끝나면 반드시 {@link #release(String)} 를 호출해야 합니다.
+     */
+    public void beforeRequest(String method) {
+        long waitNanos = state(method).enter();
+        if (waitNanos <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(method);
+            throw new IllegalStateException("Interrupted while pacing Riot API calls", e);
+        }
+    }
+
+    public void release(String method) {
+        state(method).exit();
+    }
+
+    /**
+     * 응답 헤더를 반영합니다. 헤더가 없는 응답(네트워크 오류 등)은 무시합니다.
+     */
+    public void onResponse(String host, String method, int status, HttpHeaders headers) {
+        List<RateLimitWindow> appLimits = RateLimitWindow.parse(headers.firstValue("X-App-Rate-Limit").orElse(null));
+        rateLimiter.updateLimits(host, appLimits);
+
+        MethodState state = state(method);
+        if (status == 429) {
+            state.decrease();
+            return;
+        }
+        List<RateLimitWindow> methodLimits = RateLimitWindow.parse(headers.firstValue("X-Method-Rate-Limit").orElse(null));
+        List<RateLimitWindow> methodCounts = RateLimitWindow.parse(headers.firstValue("X-Method-Rate-Limit-Count").orElse(null));
+        List<RateLimitWindow> appCounts = RateLimitWindow.parse(headers.firstValue("X-App-Rate-Limit-Count").orElse(null));
+        if (methodLimits.isEmpty() && appLimits.isEmpty()) return;
+
+        state.updateInterval(minIntervalNanos(methodLimits, targetUtilization));
+        double usage = Math.max(utilization(methodLimits, methodCounts), utilization(appLimits, appCounts));
+        if (usage >= targetUtilization) {
+            state.decrease();
+        } else {
+            state.increase();
+        }
+    }
+
+    /**
+     * 각 윈도우를 목표 사용률 이하로 고르게 쓰기 위한 최소 호출 간격(가장 엄격한 윈도우 기준)입니다.
+     */
+    static long minIntervalNanos(List<RateLimitWindow> limits, double targetUtilization) {
+        long interval = 0;
+        for (RateLimitWindow window : limits) {
+            if (window.limit() <= 0) continue;
+            double allowed = Math.max(1, window.limit() * targetUtilization);
+            interval = Math.max(interval, (long) (TimeUnit.SECONDS.toNanos(window.periodSeconds()) / allowed));
+        }
+        return interval;
+    }
+
+    /**
+     * 같은 기간의 한도/사용량 쌍 중 가장 많이 쓴 윈도우의 사용률입니다.
+     */
+    static double utilization(List<RateLimitWindow> limits, List<RateLimitWindow> counts) {
+        double usage = 0;
+        for (RateLimitWindow limit : limits) {
+            if (limit.limit() <= 0) continue;
+            for (RateLimitWindow count : counts) {
+                if (count.periodSeconds() == limit.periodSeconds()) {
+                    usage = Math.max(usage, (double) count.limit() / limit.limit());
+                }
+            }
+        }
+        return usage;
+    }
+
+    private MethodState state(String method) {
+        return methods.computeIfAbsent(method, m -> new MethodState(m, maxInFlight));
+    }
+
+    private static class MethodState {
+        private final String method;
+        private final int maxInFlight;
+        private int inFlightLimit;
+        private int inFlight;
+        private long intervalNanos;
+        private long nextSlotNanos = System.nanoTime();
+
+        MethodState(String method, int maxInFlight) {
+            this.method = method;
+            this.maxInFlight = Math.max(1, maxInFlight);
+            this.inFlightLimit = this.maxInFlight;
+        }
+
+        /**
+         * 동시 요청 슬롯을 차지하고, 호출 간격을 지키기 위해 더 기다려야 하는 나노초를 반환합니다.
+         */
+        synchronized long enter() {
+            while (inFlight >= inFlightLimit) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for Riot API in-flight slot", e);
+                }
+            }
+            inFlight++;
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            return slot - now;
+        }
+
+        synchronized void exit() {
+            inFlight--;
+            notifyAll();
+        }
+
+        synchronized void updateInterval(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        synchronized void increase() {
+            if (inFlightLimit < maxInFlight) {
+                inFlightLimit++;
+                notifyAll();
+            }
+        }
+
+        synchronized void decrease() {
+            int reduced = Math.max(1, inFlightLimit / 2);
+            if (reduced < inFlightLimit) {
+                log.info("Reducing in-flight Riot requests for {}: {} -> {}", method, inFlightLimit, reduced);
+                inFlightLimit = reduced;
+            }
+        }
+    }
+}
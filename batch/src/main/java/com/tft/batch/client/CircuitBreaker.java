@@ -0,0 +1,79 @@
+package com.tft.batch.client;
+
+/**
+ * 엔드포인트 묶음 하나의 회로 차단기입니다.
+ * <ul>
+ *     <li>CLOSED: 정상 호출. 연속 실패가 failureThreshold 에 닿으면 OPEN.</li>
+ *     <li>OPEN: openMillis 동안 호출하지 않고 바로 거절.</li>
+ *     <li>HALF_OPEN: 시험 호출 하나만 보내고, 성공하면 CLOSED, 실패하면 다시 OPEN.</li>
+ * </ul>
+ * 시각은 호출하는 쪽에서 넘겨받으므로 테스트에서 시간을 직접 지정할 수 있습니다.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 시험 호출이 진행 중일 때 다른 요청에게 알려줄 재시도 간격
+    private static final long PROBE_WAIT_MILLIS = 1000;
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 호출해도 되면 0을, 아니면 다시 시도할 수 있는 시각(epoch ms)을 반환합니다.
+     */
+    synchronized long tryAcquire(long now) {
+        switch (state) {
+            case OPEN -> {
+                if (now - openedAt < openMillis) return openedAt + openMillis;
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return 0;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) return now + PROBE_WAIT_MILLIS;
+                probeInFlight = true;
+                return 0;
+            }
+            default -> {
+                return 0;
+            }
+        }
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure(long now) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = now;
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * 요청을 보내지 못하고 끝난 경우(로컬 한도 초과 등) 차지한 시험 호출 기회를 돌려줍니다.
+     */
+    synchronized void release() {
+        probeInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
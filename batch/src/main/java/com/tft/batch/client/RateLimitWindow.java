@@ -0,0 +1,47 @@
+package com.tft.batch.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Riot 응답 헤더의 한도 표기 "limit:seconds" 한 칸입니다. (예: X-App-Rate-Limit: 20:1,100:120)
+ * X-*-Rate-Limit-Count 헤더도 같은 형식이며, 이때 limit 자리는 현재 윈도우에서 사용한 횟수입니다.
+ */
+record RateLimitWindow(int limit, int periodSeconds) {
+
+    /**
+     * "20:1,100:120" 형식의 헤더 값을 윈도우 목록으로 바꿉니다. 형식이 맞지 않는 칸은 건너뜁니다.
+     */
+    static List<RateLimitWindow> parse(String header) {
+        List<RateLimitWindow> windows = new ArrayList<>(2);
+        if (header == null || header.isBlank()) return windows;
+        for (String part : header.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) continue;
+            try {
+                int limit = Integer.parseInt(pair[0].trim());
+                int period = Integer.parseInt(pair[1].trim());
+                if (period > 0) windows.add(new RateLimitWindow(limit, period));
+            } catch (NumberFormatException ignored) {
+                // 알 수 없는 형식은 무시하고 기존 한도를 유지합니다.
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * 윈도우 목록을 헤더와 같은 "20:1,100:120" 형식으로 되돌립니다. (웹 모듈과 공유하는 Redis 값 형식)
+     */
+    static String format(List<RateLimitWindow> windows) {
+        StringBuilder sb = new StringBuilder();
+        for (RateLimitWindow window : windows) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(window.limit()).append(':').append(window.periodSeconds());
+        }
+        return sb.toString();
+    }
+
+    long periodMillis() {
+        return periodSeconds * 1000L;
+    }
+}
@@ -0,0 +1,71 @@
+package com.tft.batch.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Riot 엔드포인트 묶음(match-by-id, match-ids, league, summoner)별 회로 차단기입니다.
+ * 5xx 응답이나 타임아웃/연결 실패가 이어지면 해당 묶음만 잠시 막고, 이후 시험 호출로 복구 여부를 확인합니다.
+ * 4xx(429 포함)는 Riot 이 응답한 것이므로 실패로 세지 않습니다.
+ */
+@Component
+@Slf4j
+public class RiotCircuitBreaker {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openMillis;
+
+    public RiotCircuitBreaker(@Value("${riot.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${riot.circuit.open-ms:30000}") long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 회로가 열려 있으면 호출하지 않고 {@link RiotUnavailableException} 을 던집니다.
+     */
+    public void acquire(String family) {
+        long retryAt = breaker(family).tryAcquire(System.currentTimeMillis());
+        if (retryAt > 0) {
+            throw new RiotUnavailableException(family, retryAt);
+        }
+    }
+
+    /**
+     * 요청 결과를 기록합니다. error 가 null 이면 성공입니다.
+     */
+    public void record(String family, Throwable error) {
+        CircuitBreaker breaker = breaker(family);
+        if (!isFailure(error)) {
+            breaker.onSuccess();
+            return;
+        }
+        CircuitBreaker.State before = breaker.state();
+        breaker.onFailure(System.currentTimeMillis());
+        if (before != CircuitBreaker.State.OPEN && breaker.state() == CircuitBreaker.State.OPEN) {
+            log.warn("Circuit opened for Riot {} for {}ms: {}", family, openMillis, error.getMessage());
+        }
+    }
+
+    public void release(String family) {
+        breaker(family).release();
+    }
+
+    private static boolean isFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpServerErrorException || cause instanceof IOException;
+    }
+
+    private CircuitBreaker breaker(String family) {
+        return breakers.computeIfAbsent(family, f -> new CircuitBreaker(failureThreshold, openMillis));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tft.batch.client;
+
+import lombok.Getter;
+
+/**
+ * 라우팅 호스트가 429(Retry-After)로 일시 정지된 상태에서 호출하려 할 때 발생합니다.
+ * 작업을 처리하던 쪽은 워커를 재우지 않고 {@link #getResumeAtMillis()} 까지 작업을 미뤄둡니다.
+ */
+@Getter
+public class RiotHostPausedException extends RuntimeException {
+
+    private final String host;
+    private final long resumeAtMillis;
+
+    public RiotHostPausedException(String host, long resumeAtMillis) {
+        super("Riot API host " + host + " is paused until " + resumeAtMillis);
+        this.host = host;
+        this.resumeAtMillis = resumeAtMillis;
+    }
+}
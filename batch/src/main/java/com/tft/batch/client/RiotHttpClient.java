@@ -0,0 +1,185 @@
+package com.tft.batch.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Riot API 공통 호출 계층입니다.
+ * 공유 HttpClient(커넥션 풀, HTTP/2)와 공유 ObjectMapper 를 사용하고, gzip 응답을 스트림으로 풀면서 역직렬화합니다.
+ * 오류 응답은 RestTemplate 과 같은 HttpClientErrorException / HttpServerErrorException 으로 변환하므로
+ * 기존의 TooManyRequests 처리 로직을 그대로 사용할 수 있습니다.
+ * 호출 속도와 동시 요청 수는 응답 헤더를 읽는 {@link AdaptiveRateController} 가 메서드별로 조정하고,
+ * Riot 장애 시에는 {@link RiotCircuitBreaker} 가 해당 메서드 호출을 바로 거절합니다.
+ * 응답 코드는 riot.api.responses 카운터(host, method, status)로 집계합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiotHttpClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final RiotRateLimiter rateLimiter;
+    private final AdaptiveRateController rateController;
+    private final RiotCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${riot.api.key}")
+    private String apiKey;
+
+    @Value("${riot.http.read-timeout-ms:5000}")
+    private long readTimeoutMillis;
+
+    public <T> T get(String host, String path, Class<T> type) {
+        return join(getAsync(host, path, objectMapper.constructType(type)));
+    }
+
+    public <T> T get(String host, String path, TypeReference<T> type) {
+        return join(getAsync(host, path, objectMapper.constructType(type)));
+    }
+
+    public <T> T get(String host, String path, ResponseDecoder<T> decoder) {
+        return join(getAsync(host, path, decoder));
+    }
+
+    public <T> CompletableFuture<T> getAsync(String host, String path, JavaType type) {
+        return getAsync(host, path, in -> objectMapper.readValue(in, type));
+    }
+
+    /**
+     * 호출 슬롯을 얻은 뒤 요청을 보내고, 응답 수신과 디코딩은 HttpClient 스레드에서 처리합니다.
+     * 슬롯은 호출 스레드에서 얻으므로 회로 차단기, 메서드별 호출 간격({@link AdaptiveRateController#beforeRequest}),
+     * 공유 한도({@link RiotRateLimiter#acquire}) 대기 동안에는 호출 스레드가 막힙니다.
+     * 지금은 모든 호출이 {@code get} 으로 결과를 바로 기다리므로, 진행 중인 Riot 호출 하나가 워커 스레드 하나를 점유합니다.
+     * @param host 라우팅 호스트 (예: {@link RiotRateLimiter#ASIA}, {@link RiotRateLimiter#KR})
+     * @param path /tft/... 형태의 API 경로 (쿼리 포함)
+     * @param decoder 응답 본문(gzip 해제된 스트림)을 읽는 디코더
+     */
+    public <T> CompletableFuture<T> getAsync(String host, String path, ResponseDecoder<T> decoder) {
+        String method = AdaptiveRateController.methodOf(path);
+        circuitBreaker.acquire(method);
+        try {
+            rateController.beforeRequest(method);
+        } catch (RuntimeException e) {
+            circuitBreaker.release(method);
+            throw e;
+        }
+        try {
+            rateLimiter.acquire(host);
+        } catch (RuntimeException e) {
+            rateController.release(method);
+            circuitBreaker.release(method);
+            throw e;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://" + host + ".api.riotgames.com" + path))
+                .timeout(Duration.ofMillis(readTimeoutMillis))
+                .header("X-Riot-Token", apiKey)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    rateController.onResponse(host, method, response.statusCode(), response.headers());
+                    // 429 가 어느 호스트/메서드에서 나는지 보기 위해 응답 코드별로 셉니다.
+                    meterRegistry.counter("riot.api.responses", "host", host, "method", method,
+                            "status", String.valueOf(response.statusCode())).increment();
+                    return decode(host, response, decoder);
+                })
+                .whenComplete((result, error) -> {
+                    rateController.release(method);
+                    circuitBreaker.record(method, error);
+                });
+    }
+
+    private <T> T decode(String host, HttpResponse<byte[]> response, ResponseDecoder<T> decoder) {
+        byte[] body = response.body() != null ? response.body() : new byte[0];
+        try (InputStream in = open(response, body)) {
+            if (response.statusCode() == 429) {
+                // 같은 호스트로 가는 다른 워커/웹 요청도 Retry-After 동안 멈추도록 기록합니다.
+                rateLimiter.pause(host, retryAfterSeconds(response));
+            }
+            if (response.statusCode() >= 400) {
+                throw toException(response, in.readAllBytes());
+            }
+            if (body.length == 0) {
+                return null;
+            }
+            return decoder.decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long retryAfterSeconds(HttpResponse<byte[]> response) {
+        try {
+            return Long.parseLong(response.headers().firstValue("Retry-After").orElse("10").trim());
+        } catch (NumberFormatException e) {
+            return 10;
+        }
+    }
+
+    private InputStream open(HttpResponse<byte[]> response, byte[] body) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map("gzip"::equalsIgnoreCase)
+                .orElse(false);
+        InputStream in = new ByteArrayInputStream(body);
+        return gzip && body.length > 0 ? new GZIPInputStream(in) : in;
+    }
+
+    private RuntimeException toException(HttpResponse<byte[]> response, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        String statusText = "Riot API " + response.statusCode() + " " + response.uri().getPath();
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof IOException io) throw new ResourceAccessException(io.getMessage(), io);
+            throw e;
+        }
+    }
+
+    /**
+     * 응답 본문 스트림을 원하는 형태로 읽어 들이는 디코더입니다.
+     */
+    @FunctionalInterface
+    public interface ResponseDecoder<T> {
+        T decode(InputStream in) throws IOException;
+    }
+}
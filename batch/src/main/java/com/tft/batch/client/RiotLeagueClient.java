@@ -1,6 +1,6 @@
 package com.tft.batch.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.tft.batch.client.dto.TftLeagueEntryDto;
 import com.tft.batch.client.dto.TftLeagueListDto;
 import lombok.RequiredArgsConstructor;
@@ -8,30 +8,30 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+/**
+ * 리그 조회 클라이언트입니다. 조회 실패는 null 로 돌려주지만, 호스트 정지(429)와 회로 열림은
+ * 호출하는 쪽이 작업을 미루거나 멈출 수 있도록 그대로 올립니다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RiotLeagueClient {
 
-    private final RestTemplate restTemplate;
+    private static final TypeReference<List<TftLeagueEntryDto>> LEAGUE_ENTRIES = new TypeReference<>() {};
 
-    @Value("${riot.api.key}")
-    private String apiKey;
+    private final RiotHttpClient riotHttpClient;
 
     public TftLeagueListDto getChallengerLeague() {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/challenger?api_key=" + apiKey;
-        log.info("Calling Riot API: {}", url.replace(apiKey, "REDACTED"));
+        String path = "/tft/league/v1/challenger";
+        log.info("Calling Riot API: {}", path);
         try {
-            String rawJson = restTemplate.getForObject(url, String.class);
-            log.info("Raw JSON Response (first 500 chars): {}", rawJson != null ? rawJson.substring(0, Math.min(rawJson.length(), 500)) : "null");
-            return new ObjectMapper().readValue(rawJson, TftLeagueListDto.class);
+            TftLeagueListDto league = riotHttpClient.get(RiotRateLimiter.KR, path, TftLeagueListDto.class);
+            log.info("Challenger league entries: {}", league != null && league.getEntries() != null ? league.getEntries().size() : 0);
+            return league;
+        } catch (RiotHostPausedException | RiotUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing Challenger League: {}", e.getMessage());
             return null;
@@ -39,11 +39,12 @@ public class RiotLeagueClient {
     }
 
     public TftLeagueListDto getGrandmasterLeague() {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/grandmaster?api_key=" + apiKey;
-        log.info("Calling Riot API: {}", url.replace(apiKey, "REDACTED"));
+        String path = "/tft/league/v1/grandmaster";
+        log.info("Calling Riot API: {}", path);
         try {
-            String rawJson = restTemplate.getForObject(url, String.class);
-            return new ObjectMapper().readValue(rawJson, TftLeagueListDto.class);
+            return riotHttpClient.get(RiotRateLimiter.KR, path, TftLeagueListDto.class);
+        } catch (RiotHostPausedException | RiotUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing Grandmaster League: {}", e.getMessage());
             return null;
@@ -51,11 +52,12 @@ public class RiotLeagueClient {
     }
 
     public TftLeagueListDto getMasterLeague() {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/master?api_key=" + apiKey;
-        log.info("Calling Riot API: {}", url.replace(apiKey, "REDACTED"));
+        String path = "/tft/league/v1/master";
+        log.info("Calling Riot API: {}", path);
         try {
-            String rawJson = restTemplate.getForObject(url, String.class);
-            return new ObjectMapper().readValue(rawJson, TftLeagueListDto.class);
+            return riotHttpClient.get(RiotRateLimiter.KR, path, TftLeagueListDto.class);
+        } catch (RiotHostPausedException | RiotUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing Master League: {}", e.getMessage());
             return null;
@@ -69,17 +71,12 @@ public class RiotLeagueClient {
      * @return 유저 목록
      */
     public List<TftLeagueEntryDto> getLeagueEntries(String tier, String division) {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/entries/" + tier + "/" + division + "?api_key=" + apiKey;
-        log.info("Calling Riot API: {}", url.replace(apiKey, "REDACTED"));
+        String path = "/tft/league/v1/entries/" + tier + "/" + division;
+        log.info("Calling Riot API: {}", path);
         try {
-            ResponseEntity<List<TftLeagueEntryDto>> response =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<List<TftLeagueEntryDto>>() {}
-                    );
-            return response.getBody();
+            return riotHttpClient.get(RiotRateLimiter.KR, path, LEAGUE_ENTRIES);
+        } catch (RiotHostPausedException | RiotUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching league entries for {} {}: {}", tier, division, e.getMessage());
             return null;
@@ -87,34 +84,25 @@ public class RiotLeagueClient {
     }
 
     public TftLeagueEntryDto getTftLeagueByPuuid(String puuid) {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/by-puuid/" + puuid + "?api_key=" + apiKey;
-
         try {
-            ResponseEntity<List<TftLeagueEntryDto>> response =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<List<TftLeagueEntryDto>>() {}
-                    );
-
-            List<TftLeagueEntryDto> results = response.getBody();
+            List<TftLeagueEntryDto> results = riotHttpClient.get(RiotRateLimiter.KR, "/tft/league/v1/by-puuid/" + puuid, LEAGUE_ENTRIES);
             // Assuming the first entry is the relevant ranked queue or logic to filter by queue type if necessary
             // For now, consistent with web implementation which takes the first one.
             return (results != null && !results.isEmpty()) ? results.get(0) : null;
+        } catch (RiotHostPausedException | RiotUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             // Log error or handle gracefully (e.g. 404 if unranked)
             return null;
         }
     }
 
+    /**
+     * 실패(호스트 정지, 회로 열림, 네트워크 오류 등)를 null 로 바꾸면 호출하는 쪽이 "아이콘 없음" 과 구분할 수 없으므로
+     * 예외를 그대로 올립니다.
+     */
     public com.tft.batch.client.dto.TftSummonerDto getTftSummonerByPuuid(String puuid) {
-        String url = "https://kr.api.riotgames.com/tft/summoner/v1/summoners/by-puuid/" + puuid + "?api_key=" + apiKey;
-        try {
-            return restTemplate.getForObject(url, com.tft.batch.client.dto.TftSummonerDto.class);
-        } catch (Exception e) {
-            log.error("Error fetching summoner for {}: {}", puuid, e.getMessage());
-            return null;
-        }
+        return riotHttpClient.get(RiotRateLimiter.KR, "/tft/summoner/v1/summoners/by-puuid/" + puuid,
+                com.tft.batch.client.dto.TftSummonerDto.class);
     }
 }
@@ -1,10 +1,11 @@
 package com.tft.batch.client;
 
-import org.springframework.beans.factory.annotation.Value;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import com.tft.batch.client.dto.RiotMatchDetailResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tft.batch.model.entity.GameInfo;
 
 import lombok.RequiredArgsConstructor;
 
@@ -12,26 +13,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RiotMatchClient {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${riot.api.key}")
-    private String apiKey;
+    private static final TypeReference<List<String>> MATCH_IDS = new TypeReference<>() {};
 
-    public RiotMatchDetailResponse fetchMatchDetail(String matchId) {
-        String url = "https://asia.api.riotgames.com/tft/match/v1/matches/"
-                + matchId
-                + "?api_key=" + apiKey;
+    private final RiotHttpClient riotHttpClient;
+    private final MatchDetailDecoder matchDetailDecoder;
 
-        return restTemplate.getForObject(url, RiotMatchDetailResponse.class);
+    /**
+     * 매치 상세를 스트리밍으로 읽어 저장 가능한 엔티티 그래프(아직 저장되지 않음)로 반환합니다.
+     */
+    public GameInfo fetchMatchDetail(String matchId) {
+        return riotHttpClient.get(RiotRateLimiter.ASIA, "/tft/match/v1/matches/" + matchId,
+                matchDetailDecoder::decode);
     }
 
-    public java.util.List<String> fetchMatchIds(String puuid, int start, int count, Long startTime) {
-        String url = "https://asia.api.riotgames.com/tft/match/v1/matches/by-puuid/"
+    public List<String> fetchMatchIds(String puuid, int start, int count, Long startTime) {
+        String path = "/tft/match/v1/matches/by-puuid/"
                 + puuid
-                + "/ids?start=" + start + "&count=" + count 
-                + (startTime != null ? "&startTime=" + startTime : "")
-                + "&api_key=" + apiKey;
+                + "/ids?start=" + start + "&count=" + count
+                + (startTime != null ? "&startTime=" + startTime : "");
 
-        return restTemplate.getForObject(url, java.util.List.class);
+        return riotHttpClient.get(RiotRateLimiter.ASIA, path, MATCH_IDS);
     }
-}
\ No newline at end of file
+}
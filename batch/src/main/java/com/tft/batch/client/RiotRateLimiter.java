@@ -0,0 +1,228 @@
+package com.tft.batch.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Riot 앱 키 한도를 API 키별, 라우팅 호스트(asia, kr)별 Redis 슬라이딩 윈도우(Lua 로 원자적 처리)로 계산합니다.
+ * 키는 tft:ratelimit:{API 키 SHA-256 앞 8자리}:{host}:* 이므로, 같은 키를 쓰는 웹/배치 노드끼리만 한도를 공유하고
+ * 다른 키를 쓰는 노드는 각자의 한도를 따로 씁니다.
+ * 같은 키 안에서 배치는 riot.rate-limit.web-reserve 비율만큼을 웹 검색용으로 남겨두고 나머지 한도만 사용합니다.
+ */
+@Component
+@Slf4j
+public class RiotRateLimiter {
+
+    public static final String ASIA = "asia";
+    public static final String KR = "kr";
+
+    private static final String KEY_PREFIX = "tft:ratelimit:";
+    // 게시한 한도는 배치가 멈춰도 하루 동안 유지되고, 그 뒤에는 웹이 기본 한도로 돌아갑니다.
+    private static final long WINDOWS_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long PUBLISH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // KEYS: 윈도우별 ZSET..., paused-until / ARGV: now(ms), member, (limit, periodMs) * 윈도우 수
+    // 허용되면 0, 한도 초과면 다음 슬롯까지 남은 ms, 호스트가 일시 정지 중이면 -(재개 시각 epoch ms)를 반환합니다.
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local pausedUntil = tonumber(redis.call('GET', KEYS[#KEYS]) or '0')
+            if pausedUntil > now then
+                return -pausedUntil
+            end
+            local wait = 0
+            for i = 1, #KEYS - 1 do
+                local key = KEYS[i]
+                local limit = tonumber(ARGV[1 + i * 2])
+                local period = tonumber(ARGV[2 + i * 2])
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', now - period)
+                if redis.call('ZCARD', key) >= limit then
+                    local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                    wait = math.max(wait, tonumber(oldest[2]) + period - now)
+                end
+            end
+            if wait > 0 then
+                return wait
+            end
+            for i = 1, #KEYS - 1 do
+                redis.call('ZADD', KEYS[i], now, ARGV[2])
+                redis.call('PEXPIRE', KEYS[i], tonumber(ARGV[2 + i * 2]))
+            end
+            return 0
+            """, Long.class);
+
+    // 429 를 받은 호스트의 "paused until" 시각을 늘립니다. (이미 더 늦은 시각이면 유지)
+    private static final RedisScript<Long> PAUSE_SCRIPT = RedisScript.of("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local untilMs = tonumber(ARGV[1])
+            if untilMs > current then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', untilMs - tonumber(ARGV[2]))
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    // tft:ratelimit:{API 키 지문}:{host} - 키가 다른 배치 노드는 각자의 한도를 따로 계산합니다.
+    private final String keyPrefix;
+    private final int perSecond;
+    private final int perTwoMinutes;
+    private final double webReserve;
+    private final List<RateLimitWindow> defaultWindows;
+    // 응답 헤더(X-App-Rate-Limit)로 확인한 실제 앱 키 한도 (웹 몫을 뺀 값)
+    private final Map<String, List<RateLimitWindow>> hostWindows = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowRateLimiter> localFallback = new ConcurrentHashMap<>();
+    // 호스트별로 Redis 에 마지막으로 게시한 시각 (같은 한도를 매 응답마다 다시 쓰지 않도록)
+    private final Map<String, Long> publishedAt = new ConcurrentHashMap<>();
+
+    public RiotRateLimiter(StringRedisTemplate redisTemplate,
+                           @Value("${riot.rate-limit.per-second:20}") int perSecond,
+                           @Value("${riot.rate-limit.per-two-minutes:100}") int perTwoMinutes,
+                           @Value("${riot.rate-limit.web-reserve:0.2}") double webReserve,
+                           @Value("${riot.api.key}") String apiKey) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = KEY_PREFIX + fingerprint(apiKey) + ":";
+        this.perSecond = Math.max(1, (int) Math.floor(perSecond * (1 - webReserve)));
+        this.perTwoMinutes = Math.max(1, (int) Math.floor(perTwoMinutes * (1 - webReserve)));
+        this.webReserve = webReserve;
+        this.defaultWindows = List.of(new RateLimitWindow(this.perSecond, 1), new RateLimitWindow(this.perTwoMinutes, 120));
+    }
+
+    /**
+     * 해당 라우팅 호스트의 호출 슬롯을 얻을 때까지 필요한 만큼만 대기합니다.
+     * 호스트가 429 로 일시 정지 중이면 대기하지 않고 {@link RiotHostPausedException} 을 던집니다.
+     * @param host 라우팅 호스트 (예: {@link #ASIA}, {@link #KR})
+     */
+    public void acquire(String host) {
+        String member = UUID.randomUUID().toString();
+        while (true) {
+            long waitMillis;
+            try {
+                waitMillis = tryAcquireShared(host, member);
+            } catch (DataAccessException e) {
+                // Redis 장애 시에는 프로세스 내 윈도우로라도 한도를 지킵니다.
+                log.warn("Shared rate limiter unavailable, falling back to local limiter: {}", e.getMessage());
+                localFallback.computeIfAbsent(host, h -> new SlidingWindowRateLimiter(perSecond, perTwoMinutes)).acquire();
+                return;
+            }
+            if (waitMillis == 0) return;
+            if (waitMillis < 0) {
+                // 대기하지 않고 바로 알려서, 호출한 쪽이 작업을 재개 시각까지 미뤄두게 합니다.
+                throw new RiotHostPausedException(host, -waitMillis);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Riot API rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * 429 응답을 받은 호스트의 호출을 retryAfterSeconds 동안 클러스터 전체에서 멈춥니다.
+     * 다른 호스트(예: asia 가 멈춰도 kr)는 영향을 받지 않습니다.
+     */
+    public void pause(String host, long retryAfterSeconds) {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.execute(PAUSE_SCRIPT, List.of(keyPrefix + host + ":paused-until"),
+                    String.valueOf(now + retryAfterSeconds * 1000), String.valueOf(now));
+        } catch (DataAccessException e) {
+            log.warn("Failed to record pause for {}: {}", host, e.getMessage());
+        }
+    }
+
+    /**
+     * 라우팅 호스트 중 429 로 멈춰 있는 곳이 있으면 가장 늦은 재개 시각(epoch ms)을, 없으면 0 을 돌려줍니다.
+     * 워커가 작업을 임대하기 전에 확인해, 멈춘 동안 작업을 꺼냈다 미루기만 반복하지 않게 합니다.
+     */
+    public long pausedUntil() {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(
+                    List.of(keyPrefix + ASIA + ":paused-until", keyPrefix + KR + ":paused-until"));
+            long pausedUntil = 0;
+            if (values != null) {
+                for (String value : values) {
+                    if (value != null) pausedUntil = Math.max(pausedUntil, Long.parseLong(value));
+                }
+            }
+            return pausedUntil > System.currentTimeMillis() ? pausedUntil : 0;
+        } catch (DataAccessException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 응답 헤더로 확인한 앱 키 한도로 해당 호스트의 윈도우를 바꿉니다. (개발 키 → 운영 키 전환 시 자동 반영)
+     * 배치는 여기서도 웹 몫(riot.rate-limit.web-reserve)을 뺀 만큼만 사용하고,
+     * 전체 한도는 {prefix}:{host}:windows 에 게시해 웹이 같은 윈도우 키와 한도로 계산하게 합니다.
+     */
+    public void updateLimits(String host, List<RateLimitWindow> appWindows) {
+        if (appWindows.isEmpty()) return;
+        List<RateLimitWindow> reserved = appWindows.stream()
+                .map(w -> new RateLimitWindow(Math.max(1, (int) Math.floor(w.limit() * (1 - webReserve))), w.periodSeconds()))
+                .toList();
+        List<RateLimitWindow> previous = hostWindows.put(host, reserved);
+        if (!reserved.equals(previous)) {
+            log.info("Riot app rate limit for {} updated from headers: {}", host, reserved);
+        }
+        publishWindows(host, appWindows, !reserved.equals(previous));
+    }
+
+    private void publishWindows(String host, List<RateLimitWindow> appWindows, boolean changed) {
+        long now = System.currentTimeMillis();
+        Long last = publishedAt.get(host);
+        if (!changed && last != null && now - last < PUBLISH_INTERVAL_MILLIS) return;
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + host + ":windows", RateLimitWindow.format(appWindows),
+                    WINDOWS_TTL_MILLIS, TimeUnit.MILLISECONDS);
+            publishedAt.put(host, now);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish rate limit windows for {}: {}", host, e.getMessage());
+        }
+    }
+
+    private long tryAcquireShared(String host, String member) {
+        String prefix = keyPrefix + host;
+        List<RateLimitWindow> windows = hostWindows.getOrDefault(host, defaultWindows);
+        List<String> keys = new ArrayList<>(windows.size() + 1);
+        List<String> args = new ArrayList<>(2 + windows.size() * 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(member);
+        for (RateLimitWindow window : windows) {
+            keys.add(prefix + ":" + window.periodSeconds() + "s");
+            args.add(String.valueOf(window.limit()));
+            args.add(String.valueOf(window.periodMillis()));
+        }
+        keys.add(prefix + ":paused-until");
+        Long wait = redisTemplate.execute(ACQUIRE_SCRIPT, keys, args.toArray());
+        return wait != null ? wait : 0;
+    }
+
+    /**
+     * API 키 원문 대신 Redis 키에 넣을 짧은 지문(SHA-256 앞 8자리)입니다.
+     */
+    static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
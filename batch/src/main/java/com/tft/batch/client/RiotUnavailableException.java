@@ -0,0 +1,20 @@
+package com.tft.batch.client;
+
+import lombok.Getter;
+
+/**
+ * 엔드포인트 묶음의 회로가 열려 있어(Riot 장애) 호출하지 않고 바로 거절했을 때 발생합니다.
+ * 작업을 처리하던 쪽은 작업을 버리지 않고 {@link #getRetryAtMillis()} 까지 미뤄둡니다.
+ */
+@Getter
+public class RiotUnavailableException extends RuntimeException {
+
+    private final String family;
+    private final long retryAtMillis;
+
+    public RiotUnavailableException(String family, long retryAtMillis) {
+        super("Riot API " + family + " is unavailable until " + retryAtMillis);
+        this.family = family;
+        this.retryAtMillis = retryAtMillis;
+    }
+}
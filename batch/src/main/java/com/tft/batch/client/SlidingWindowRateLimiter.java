@@ -0,0 +1,75 @@
+package com.tft.batch.client;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라이엇 앱 키 한도(1초 N회, 2분 M회)를 두 개의 슬라이딩 윈도우로 동시에 지키는 프로세스 내 리미터입니다.
+ * Redis 를 사용할 수 없을 때 {@link RiotRateLimiter} 가 라우팅 호스트별로 하나씩 만들어 대신 사용합니다.
+ */
+class SlidingWindowRateLimiter {
+
+    private final Window[] windows;
+
+    SlidingWindowRateLimiter(int perSecond, int perTwoMinutes) {
+        this.windows = new Window[] {
+                new Window(perSecond, TimeUnit.SECONDS.toNanos(1)),
+                new Window(perTwoMinutes, TimeUnit.MINUTES.toNanos(2))
+        };
+    }
+
+    /**
+     * 호출 가능한 시점까지 대기한 뒤 슬롯 하나를 차지합니다.
+     */
+    void acquire() {
+        while (true) {
+            long waitNanos = tryAcquire(System.nanoTime());
+            if (waitNanos == 0) return;
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Riot API rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * 두 윈도우 모두 여유가 있으면 슬롯을 기록하고 0을, 아니면 다음 슬롯이 열릴 때까지 남은 나노초를 반환합니다.
+     */
+    synchronized long tryAcquire(long now) {
+        long waitNanos = 0;
+        for (Window window : windows) {
+            waitNanos = Math.max(waitNanos, window.waitNanos(now));
+        }
+        if (waitNanos > 0) return waitNanos;
+
+        for (Window window : windows) {
+            window.record(now);
+        }
+        return 0;
+    }
+
+    private static class Window {
+        private final int limit;
+        private final long periodNanos;
+        private final ArrayDeque<Long> timestamps = new ArrayDeque<>();
+
+        Window(int limit, long periodNanos) {
+            this.limit = limit;
+            this.periodNanos = periodNanos;
+        }
+
+        long waitNanos(long now) {
+            while (!timestamps.isEmpty() && now - timestamps.peekFirst() >= periodNanos) {
+                timestamps.pollFirst();
+            }
+            if (timestamps.size() < limit) return 0;
+            return timestamps.peekFirst() + periodNanos - now;
+        }
+
+        void record(long now) {
+            timestamps.addLast(now);
+        }
+    }
+}
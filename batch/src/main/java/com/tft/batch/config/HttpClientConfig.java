@@ -0,0 +1,38 @@
+package com.tft.batch.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Riot API 호출용 공유 HTTP 클라이언트 설정입니다.
+ * JDK HttpClient 는 호스트(asia.api.riotgames.com, kr.api.riotgames.com)별로 keep-alive 커넥션을 재사용하고,
+ * 서버가 지원하면 HTTP/2 로 한 커넥션에서 여러 요청을 동시에 처리합니다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * HttpClient 의 응답 처리 스레드 풀입니다. 컨텍스트가 닫힐 때 함께 종료되도록 빈으로 둡니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService riotHttpExecutor(@Value("${riot.http.io-threads:4}") int ioThreads) {
+        return Executors.newFixedThreadPool(ioThreads, new CustomizableThreadFactory("riot-http-"));
+    }
+
+    @Bean
+    public HttpClient httpClient(@Value("${riot.http.connect-timeout-ms:3000}") long connectTimeoutMillis,
+                                     ExecutorService riotHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(riotHttpExecutor)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.tft.batch.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tft.batch.service.BoardBackfillService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 참가자 보드 압축 컬럼(PA_BOARD) 운영용 API 입니다.
+ */
+@RestController
+@RequestMapping("/api/board")
+@RequiredArgsConstructor
+public class BoardController {
+
+    private static final int MAX_LIMIT = 100_000;
+
+    private final BoardBackfillService boardBackfillService;
+
+    // 비어 있는 PA_BOARD 를 최대 limit 명까지 채웁니다. 응답의 nextAfter 를 다음 호출의 after 로 넘기면 이어서 처리합니다.
+    @PostMapping("/backfill")
+    public Map<String, Object> backfill(@RequestParam(defaultValue = "0") int after,
+                                        @RequestParam(defaultValue = "10000") int limit) {
+        return boardBackfillService.backfill(Math.max(0, after), Math.min(Math.max(1, limit), MAX_LIMIT));
+    }
+
+    // 상세 테이블(participant / unit / item / trait)과 PA_BOARD 의 저장 용량
+    @GetMapping("/storage")
+    public Map<String, Object> storage() {
+        return boardBackfillService.storageReport();
+    }
+}
@@ -0,0 +1,43 @@
+package com.tft.batch.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tft.batch.service.RedisQueueService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 재시도 한도를 넘겨 dead-letter 로 간 작업을 조회하고 다시 큐에 넣는 운영용 API 입니다.
+ */
+@RestController
+@RequestMapping("/api/queue/dead")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final RedisQueueService redisQueueService;
+
+    // 최근에 실패한 순서로 조회합니다.
+    @GetMapping
+    public Map<String, Object> list(@RequestParam(defaultValue = "0") int offset,
+                                    @RequestParam(defaultValue = "50") int limit) {
+        List<RedisQueueService.DeadLetter> items =
+                redisQueueService.deadLetters(Math.max(0, offset), Math.min(Math.max(1, limit), MAX_PAGE_SIZE));
+        return Map.of("total", redisQueueService.deadLetterCount(), "items", items);
+    }
+
+    // type 을 주면 그 종류(SUMMONER, MATCH, ...)만 다시 넣습니다.
+    @PostMapping("/replay")
+    public Map<String, Object> replay(@RequestParam(required = false) String type,
+                                      @RequestParam(defaultValue = "1000") int limit) {
+        return Map.of("replayed", redisQueueService.replayDeadLetters(type, Math.max(1, limit)));
+    }
+}
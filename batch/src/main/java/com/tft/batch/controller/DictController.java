@@ -0,0 +1,28 @@
+package com.tft.batch.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tft.batch.service.TftDictionary;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Riot ID 사전(tft_dict) 운영용 API 입니다.
+ */
+@RestController
+@RequestMapping("/api/dict")
+@RequiredArgsConstructor
+public class DictController {
+
+    private final TftDictionary tftDictionary;
+
+    // 사전 번호가 비어 있는 예전 unit / trait / item 행과 participant 의 증강 목록을 채웁니다. 테이블별로 채운 행 수를 돌려줍니다.
+    @PostMapping("/backfill")
+    public Map<String, Integer> backfill() {
+        return tftDictionary.backfill();
+    }
+}
@@ -0,0 +1,47 @@
+package com.tft.batch.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tft.batch.service.QueueStatsService;
+import com.tft.batch.service.RedisQueueService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 작업 큐 운영용 API 입니다.
+ */
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class QueueController {
+
+    private final RedisQueueService redisQueueService;
+    private final QueueStatsService queueStatsService;
+
+    // 기준 시각을 무시하고 시즌 시작부터 매치 ID 를 다시 받는 BACKFILL 작업을 넣습니다.
+    @PostMapping("/backfill")
+    public Map<String, Object> backfill(@RequestParam String puuid,
+                                        @RequestParam(defaultValue = "10") double priority) {
+        redisQueueService.pushTask(puuid, "BACKFILL", priority);
+        return Map.of("queued", puuid);
+    }
+
+    // 배치 노드(consumer)별 하트비트, 임대 중인 작업 수, 처리 통계
+    @GetMapping("/consumers")
+    public List<RedisQueueService.ConsumerStats> consumers() {
+        return redisQueueService.consumers();
+    }
+
+    // 종류별 작업 수, 우선순위 구간별 가장 오래 기다린 시간, 최근 처리량 (웹의 예상 대기 시간 계산에 사용)
+    @GetMapping("/stats")
+    public QueueStatsService.QueueStats stats() {
+        return queueStatsService.snapshot();
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -33,6 +34,29 @@ public class Item {
     @Column(name = "IT_THIRD", length = 100)
     private String itThird;
 
+    // IT_FIRST / IT_SECOND / IT_THIRD 의 tft_dict 번호
+    @Column(name = "IT_FIRST_DICT")
+    private Integer itFirstDict;
+
+    @Column(name = "IT_SECOND_DICT")
+    private Integer itSecondDict;
+
+    @Column(name = "IT_THIRD_DICT")
+    private Integer itThirdDict;
+
+    // *_DICT 외래 키용 (쓰기는 위 번호 필드로만)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "IT_FIRST_DICT", insertable = false, updatable = false)
+    private TftDict itFirstDictEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "IT_SECOND_DICT", insertable = false, updatable = false)
+    private TftDict itSecondDictEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "IT_THIRD_DICT", insertable = false, updatable = false)
+    private TftDict itThirdDictEntry;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "IT_UN_NUM")
     private Unit unit;
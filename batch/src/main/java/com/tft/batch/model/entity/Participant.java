@@ -56,6 +56,14 @@ public class Participant {
     @Column(name = "PA_AUGMENTS", columnDefinition = "TEXT")
     private String paAugments;
 
+    // PA_AUGMENTS 의 tft_dict 번호를 같은 순서로 쉼표로 이은 값 (목록 컬럼이라 외래 키는 없음)
+    @Column(name = "PA_AUGMENT_DICTS", length = 64)
+    private String paAugmentDicts;
+
+    // 유닛/아이템/시너지를 BoardCodec 으로 압축한 값 (없으면 unit / item / trait 테이블에서 읽음)
+    @Column(name = "PA_BOARD", columnDefinition = "BLOB")
+    private byte[] paBoard;
+
     @OneToMany(mappedBy = "participant", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Unit> units = new ArrayList<>();
 
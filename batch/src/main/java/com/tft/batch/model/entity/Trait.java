@@ -32,6 +32,15 @@ public class Trait {
     @Column(name = "TR_STYLE", nullable = false)
     private Integer trStyle;
 
+    // TR_NAME 의 tft_dict 번호
+    @Column(name = "TR_DICT")
+    private Integer trDict;
+
+    // TR_DICT 외래 키용 (쓰기는 trDict 로만)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "TR_DICT", insertable = false, updatable = false)
+    private TftDict trDictEntry;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "TR_PA_NUM")
     private Participant participant;
@@ -37,6 +37,15 @@ public class Unit {
     @Column(name = "UN_COST", nullable = false)
     private Integer unCost;
 
+    // UN_ID 의 tft_dict 번호
+    @Column(name = "UN_DICT")
+    private Integer unDict;
+
+    // UN_DICT 외래 키용 (쓰기는 unDict 로만)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "UN_DICT", insertable = false, updatable = false)
+    private TftDict unDictEntry;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UN_PA_NUM")
     private Participant participant;
@@ -0,0 +1,109 @@
+package com.tft.batch.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tft.batch.service.BoardCodec;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * participant.PA_BOARD 채우기(backfill)용 JDBC 저장소입니다.
+ * 참가자 번호 구간 단위로 unit / item / trait 를 한 번씩만 읽어 보드를 만들고, 배치 UPDATE 로 씁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardBackfillRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * afterPaNum 다음부터 PA_BOARD 가 비어 있는 참가자 번호를 순서대로 가져옵니다.
+     */
+    public List<Integer> findWithoutBoard(int afterPaNum, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT PA_NUM FROM participant WHERE PA_NUM > ? AND PA_BOARD IS NULL ORDER BY PA_NUM LIMIT ?",
+                Integer.class, afterPaNum, limit);
+    }
+
+    /**
+     * [fromPaNum, toPaNum] 구간 참가자의 보드를 unit / item / trait 테이블에서 다시 만듭니다.
+     * 유닛과 시너지는 저장된 순서(PK 순)를 그대로 따릅니다.
+     */
+    public Map<Integer, BoardCodec.Board> loadBoards(int fromPaNum, int toPaNum) {
+        Map<Integer, BoardCodec.Board> boards = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT u.UN_PA_NUM, u.UN_ID, u.UN_NAME, u.UN_TIER, u.UN_COST, i.IT_FIRST, i.IT_SECOND, i.IT_THIRD
+                FROM unit u LEFT JOIN item i ON i.IT_UN_NUM = u.UN_NUM
+                WHERE u.UN_PA_NUM BETWEEN ? AND ?
+                ORDER BY u.UN_NUM
+                """, rs -> {
+            List<String> items = new ArrayList<>(3);
+            for (int c = 6; c <= 8; c++) {
+                String item = rs.getString(c);
+                if (item != null) items.add(item);
+            }
+            board(boards, rs.getInt(1)).units().add(new BoardCodec.BoardUnit(
+                    rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5), items));
+        }, fromPaNum, toPaNum);
+        jdbcTemplate.query("""
+                SELECT TR_PA_NUM, TR_NAME, TR_NUM_UNITS, TR_STYLE FROM trait
+                WHERE TR_PA_NUM BETWEEN ? AND ?
+                ORDER BY TR_NUM
+                """, rs -> {
+            board(boards, rs.getInt(1)).traits().add(new BoardCodec.BoardTrait(
+                    rs.getString(2), rs.getInt(3), rs.getInt(4)));
+        }, fromPaNum, toPaNum);
+        return boards;
+    }
+
+    /**
+     * 그 사이 수집 경로가 먼저 채운 행은 덮어쓰지 않습니다.
+     */
+    public int updateBoards(Map<Integer, byte[]> boards) {
+        if (boards.isEmpty()) return 0;
+        List<Map.Entry<Integer, byte[]>> rows = new ArrayList<>(boards.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE participant SET PA_BOARD = ? WHERE PA_NUM = ? AND PA_BOARD IS NULL",
+                rows, 500, (ps, row) -> {
+                    ps.setBytes(1, row.getValue());
+                    ps.setInt(2, row.getKey());
+                });
+        int updated = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                // rewriteBatchedStatements 로 합쳐 보내면 행별 수 대신 SUCCESS_NO_INFO(-2)가 옵니다.
+                updated += count == java.sql.Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 보드 컬럼과 상세 테이블의 저장 용량 (information_schema 기준, InnoDB 통계라 근사치)
+     */
+    public Map<String, Object> storageReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT TABLE_NAME, DATA_LENGTH + INDEX_LENGTH FROM information_schema.TABLES
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN ('participant', 'unit', 'item', 'trait')
+                """, rs -> {
+            report.put(rs.getString(1).toLowerCase() + "Bytes", rs.getLong(2));
+        });
+        jdbcTemplate.query("SELECT COUNT(*), COUNT(PA_BOARD), COALESCE(SUM(LENGTH(PA_BOARD)), 0) FROM participant", rs -> {
+            report.put("participants", rs.getLong(1));
+            report.put("packedParticipants", rs.getLong(2));
+            report.put("packedBoardBytes", rs.getLong(3));
+        });
+        return report;
+    }
+
+    private static BoardCodec.Board board(Map<Integer, BoardCodec.Board> boards, int paNum) {
+        return boards.computeIfAbsent(paNum, k -> new BoardCodec.Board(new ArrayList<>(), new ArrayList<>()));
+    }
+}
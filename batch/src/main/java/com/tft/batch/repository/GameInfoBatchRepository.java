@@ -0,0 +1,32 @@
+package com.tft.batch.repository;
+
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * game_info 대량 조회용 JDBC 저장소입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameInfoBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 저장된 모든 GA_ID 를 한 행씩 넘겨줍니다. 전체를 메모리에 올리지 않도록 MySQL 스트리밍 결과셋으로 읽습니다.
+     */
+    public void forEachGaId(Consumer<String> consumer) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT GA_ID FROM game_info",
+                    java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getString(1));
+        });
+    }
+}
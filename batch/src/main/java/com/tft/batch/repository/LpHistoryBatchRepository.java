@@ -0,0 +1,52 @@
+package com.tft.batch.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tft.batch.model.entity.LpHistory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * lp_history 대량 기록용 JDBC 저장소입니다.
+ * IDENTITY 키 때문에 JPA saveAll 은 행마다 INSERT 를 따로 보내므로, 스윕 결과는 JDBC 배치로 한 번에 넣습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LpHistoryBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<LpHistory> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO lp_history (puuid, tier, rank_str, lp, wins, losses, profile_icon_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows, BATCH_SIZE, (ps, h) -> {
+            ps.setString(1, h.getPuuid());
+            ps.setString(2, h.getTier());
+            ps.setString(3, h.getRank_str());
+            ps.setInt(4, h.getLp());
+            ps.setInt(5, h.getWins());
+            ps.setInt(6, h.getLosses());
+            ps.setInt(7, h.getProfileIconId());
+            ps.setTimestamp(8, Timestamp.valueOf(h.getCreatedAt()));
+        });
+    }
+
+    /**
+     * 해당 유저의 최신 기록에 프로필 아이콘을 채웁니다.
+     */
+    @Transactional
+    public void updateLatestIcon(String puuid, int iconId) {
+        jdbcTemplate.update("UPDATE lp_history SET profile_icon_id = ? WHERE puuid = ? ORDER BY created_at DESC LIMIT 1",
+                iconId, puuid);
+    }
+}
@@ -14,4 +14,8 @@ public interface LpHistoryRepository extends JpaRepository<LpHistory, Long> {
 
     @Query("SELECT DISTINCT l.puuid FROM LpHistory l WHERE l.createdAt > :date")
     List<String> findDistinctPuuidByCreatedAtAfter(@Param("date") LocalDateTime date);
+
+    // 유저별 최신 기록 (id 는 IDENTITY 이므로 가장 큰 id 가 가장 최근 기록)
+    @Query("SELECT l FROM LpHistory l WHERE l.id IN (SELECT MAX(h.id) FROM LpHistory h GROUP BY h.puuid)")
+    List<LpHistory> findLatestPerPuuid();
 }
@@ -0,0 +1,212 @@
+package com.tft.batch.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tft.batch.model.entity.GameInfo;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 매치 엔티티 그래프(game_info / participant / unit / item / trait) 저장용 JDBC 저장소입니다.
+ * IDENTITY 키 때문에 JPA cascade 는 행마다 INSERT 를 보내므로(매치당 약 200번), 테이블마다 JDBC 배치 하나로 넣어
+ * 매치 하나를 5개 문장으로 저장합니다. 데이터소스 URL 에 rewriteBatchedStatements=true 가 있어야
+ * 드라이버가 배치를 여러 행 INSERT 한 번으로 바꿔 보냅니다.
+ * game_info 는 INSERT IGNORE 로 넣어, 같은 GA_ID 를 다른 워커가 먼저 저장했으면 그 매치의 자식 행은 건너뜁니다.
+ * (사전 존재 확인 없이도 여러 워커가 같은 매치를 동시에 저장해도 안전합니다.)
+ * 자식 행의 FK 는 부모 INSERT 의 생성 키로 채우고, 생성된 키는 엔티티에도 돌려 넣습니다.
+ * 호출하는 쪽의 트랜잭션 커넥션을 그대로 쓰므로 JPA 저장과 같은 트랜잭션으로 묶입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 새로 저장했으면 true, 이미 있는 매치라 건너뛰었으면 false
+     */
+    public boolean insert(GameInfo gameInfo) {
+        return insertAll(List.of(gameInfo)) == 1;
+    }
+
+    /**
+     * 여러 매치를 한 번에 넣습니다. game_info 는 매치마다 한 문장, 자식 테이블은 매치 수와 관계없이 배치 하나로 보냅니다.
+     * @return 새로 저장한 매치 수
+     */
+    public int insertAll(List<GameInfo> candidates) {
+        if (candidates.isEmpty()) return 0;
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            List<GameInfo> games = insertGames(con, candidates);
+
+            List<Participant> participants = new ArrayList<>();
+            games.forEach(game -> participants.addAll(game.getParticipants()));
+            insertParticipants(con, participants);
+
+            List<Unit> units = new ArrayList<>();
+            List<Trait> traits = new ArrayList<>();
+            for (Participant participant : participants) {
+                units.addAll(participant.getUnits());
+                traits.addAll(participant.getTraits());
+            }
+            insertUnits(con, units);
+
+            List<Item> items = new ArrayList<>();
+            for (Unit unit : units) {
+                if (unit.getItem() != null) items.add(unit.getItem());
+            }
+            insertItems(con, items);
+            insertTraits(con, traits);
+            return games.size();
+        });
+    }
+
+    /**
+     * INSERT IGNORE 는 무시된 행이 섞이면 여러 행 INSERT 의 생성 키를 행과 짝지을 수 없으므로 매치마다 따로 보냅니다.
+     * 다른 트랜잭션이 같은 GA_ID 를 넣는 중이면 그 트랜잭션이 끝날 때까지 기다린 뒤 무시됩니다.
+     * @return 실제로 INSERT 된 매치 (이미 있거나 같은 목록에서 중복된 매치는 제외)
+     */
+    private List<GameInfo> insertGames(Connection con, List<GameInfo> candidates) throws SQLException {
+        List<GameInfo> inserted = new ArrayList<>(candidates.size());
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT IGNORE INTO game_info (GA_ID, GA_DATETIME, GA_VERSION, queue_id) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (GameInfo game : candidates) {
+                ps.setString(1, game.getGaId());
+                ps.setTimestamp(2, Timestamp.valueOf(game.getGaDatetime()));
+                ps.setString(3, game.getGaVersion());
+                setInteger(ps, 4, game.getQueueId());
+                if (ps.executeUpdate() == 0) continue;
+                game.setGaNum(generatedKeys(ps, 1)[0]);
+                inserted.add(game);
+            }
+        }
+        return inserted;
+    }
+
+    private void insertParticipants(Connection con, List<Participant> participants) throws SQLException {
+        if (participants.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement("""
+                INSERT INTO participant (PA_GA_NUM, PA_PUUID, PA_NAME, PA_TAG, PA_COMPANION_ID,
+                                         PA_PLACEMENT, PA_GOLD, PA_LEVEL, PA_AUGMENTS, PA_AUGMENT_DICTS, PA_BOARD)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS)) {
+            for (Participant p : participants) {
+                ps.setInt(1, p.getGameInfo().getGaNum());
+                ps.setString(2, p.getPaPuuid());
+                ps.setString(3, p.getPaName());
+                ps.setString(4, p.getPaTag());
+                setInteger(ps, 5, p.getPaCompanionId());
+                ps.setInt(6, p.getPaPlacement());
+                ps.setInt(7, p.getPaGold());
+                ps.setInt(8, p.getPaLevel());
+                ps.setString(9, p.getPaAugments());
+                ps.setString(10, p.getPaAugmentDicts());
+                ps.setBytes(11, p.getPaBoard());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            int[] keys = generatedKeys(ps, participants.size());
+            for (int i = 0; i < participants.size(); i++) {
+                participants.get(i).setPaNum(keys[i]);
+            }
+        }
+    }
+
+    private void insertUnits(Connection con, List<Unit> units) throws SQLException {
+        if (units.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO unit (UN_PA_NUM, UN_ID, UN_NAME, UN_TIER, UN_COST, UN_DICT) VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (Unit u : units) {
+                ps.setInt(1, u.getParticipant().getPaNum());
+                ps.setString(2, u.getUnId());
+                ps.setString(3, u.getUnName());
+                ps.setInt(4, u.getUnTier());
+                ps.setInt(5, u.getUnCost());
+                setInteger(ps, 6, u.getUnDict());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            int[] keys = generatedKeys(ps, units.size());
+            for (int i = 0; i < units.size(); i++) {
+                units.get(i).setUnNum(keys[i]);
+            }
+        }
+    }
+
+    private void insertItems(Connection con, List<Item> items) throws SQLException {
+        if (items.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement(
+                """
+                INSERT INTO item (IT_UN_NUM, IT_FIRST, IT_SECOND, IT_THIRD, IT_FIRST_DICT, IT_SECOND_DICT, IT_THIRD_DICT)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (Item it : items) {
+                ps.setInt(1, it.getUnit().getUnNum());
+                ps.setString(2, it.getItFirst());
+                ps.setString(3, it.getItSecond());
+                ps.setString(4, it.getItThird());
+                setInteger(ps, 5, it.getItFirstDict());
+                setInteger(ps, 6, it.getItSecondDict());
+                setInteger(ps, 7, it.getItThirdDict());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertTraits(Connection con, List<Trait> traits) throws SQLException {
+        if (traits.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO trait (TR_PA_NUM, TR_NAME, TR_NUM_UNITS, TR_STYLE, TR_DICT) VALUES (?, ?, ?, ?, ?)")) {
+            for (Trait t : traits) {
+                ps.setInt(1, t.getParticipant().getPaNum());
+                ps.setString(2, t.getTrName());
+                ps.setInt(3, t.getTrNumUnits());
+                ps.setInt(4, t.getTrStyle());
+                setInteger(ps, 5, t.getTrDict());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static int[] generatedKeys(PreparedStatement ps, int expected) throws SQLException {
+        int[] keys = new int[expected];
+        int n = 0;
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next() && n < expected) {
+                keys[n++] = rs.getInt(1);
+            }
+        }
+        if (n != expected) {
+            // 키를 잘못 이으면 자식 행이 다른 부모에 붙으므로, 트랜잭션째 실패시킵니다.
+            throw new SQLException("Expected " + expected + " generated keys but got " + n);
+        }
+        return keys;
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.tft.batch.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tft.batch.model.entity.TftDict;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * tft_dict(Riot ID 사전) 조회/등록용 JDBC 저장소입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TftDictRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 종류 -> (이름 -> 번호)
+     */
+    public Map<String, Map<String, Integer>> findAll() {
+        Map<String, Map<String, Integer>> all = new HashMap<>();
+        jdbcTemplate.query("SELECT DI_KIND, DI_NAME, DI_NUM FROM tft_dict", rs -> {
+            all.computeIfAbsent(rs.getString(1), k -> new HashMap<>()).put(rs.getString(2), rs.getInt(3));
+        });
+        return all;
+    }
+
+    /**
+     * @return 번호에 해당하는 사전 행, 없으면 null
+     */
+    public TftDict findByNum(int diNum) {
+        List<TftDict> rows = jdbcTemplate.query("SELECT DI_NUM, DI_KIND, DI_NAME FROM tft_dict WHERE DI_NUM = ?",
+                (rs, i) -> {
+                    TftDict dict = new TftDict();
+                    dict.setDiNum(rs.getInt(1));
+                    dict.setDiKind(rs.getString(2));
+                    dict.setDiName(rs.getString(3));
+                    return dict;
+                }, diNum);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * 사전에 없는 이름을 넣고 번호를 돌려줍니다. 다른 노드가 같은 이름을 동시에 넣어도 UNIQUE(DI_KIND, DI_NAME) 로 하나만 남습니다.
+     * 매치 저장 트랜잭션이 롤백돼도 캐시된 번호가 사라지지 않도록 별도 트랜잭션으로 바로 커밋합니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Integer> insertMissing(String kind, Collection<String> names) {
+        List<String> rows = new ArrayList<>(names);
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO tft_dict (DI_KIND, DI_NAME) VALUES (?, ?)", rows, 500, (ps, name) -> {
+            ps.setString(1, kind);
+            ps.setString(2, name);
+        });
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT DI_NAME, DI_NUM FROM tft_dict WHERE DI_KIND = :kind AND DI_NAME IN (:names)",
+                new MapSqlParameterSource("kind", kind).addValue("names", rows),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getInt(2));
+                });
+        return ids;
+    }
+
+    /**
+     * afterPaNum 다음부터 증강 번호 목록(PA_AUGMENT_DICTS)이 비어 있는 참가자를 순서대로 가져옵니다.
+     * @return 참가자 번호 -> PA_AUGMENTS
+     */
+    public Map<Integer, String> findAugmentsWithoutDicts(int afterPaNum, int limit) {
+        Map<Integer, String> rows = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT PA_NUM, PA_AUGMENTS FROM participant
+                WHERE PA_NUM > ? AND PA_AUGMENTS IS NOT NULL AND PA_AUGMENT_DICTS IS NULL
+                ORDER BY PA_NUM LIMIT ?
+                """, rs -> {
+            rows.put(rs.getInt(1), rs.getString(2));
+        }, afterPaNum, limit);
+        return rows;
+    }
+
+    /**
+     * 번호 목록을 만들지 못한 참가자(null)는 건너뛰고, 그 사이 수집 경로가 먼저 채운 행은 덮어쓰지 않습니다.
+     */
+    public int updateAugmentDicts(Map<Integer, String> dicts) {
+        List<Map.Entry<Integer, String>> rows = dicts.entrySet().stream().filter(e -> e.getValue() != null).toList();
+        if (rows.isEmpty()) return 0;
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE participant SET PA_AUGMENT_DICTS = ? WHERE PA_NUM = ? AND PA_AUGMENT_DICTS IS NULL",
+                rows, 500, (ps, row) -> {
+                    ps.setString(1, row.getValue());
+                    ps.setInt(2, row.getKey());
+                });
+        int updated = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                // rewriteBatchedStatements 로 합쳐 보내면 행별 수 대신 SUCCESS_NO_INFO(-2)가 옵니다.
+                updated += count == java.sql.Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 사전 번호가 비어 있는 기존 행을 채웁니다. 종류마다 사전 등록 후 JOIN UPDATE 한 번씩입니다.
+     * @return 테이블별로 채운 행 수
+     */
+    @Transactional
+    public Map<String, Integer> backfill() {
+        Map<String, Integer> updated = new LinkedHashMap<>();
+        jdbcTemplate.update("INSERT IGNORE INTO tft_dict (DI_KIND, DI_NAME) SELECT DISTINCT 'UNIT', UN_ID FROM unit WHERE UN_DICT IS NULL");
+        updated.put("unit", jdbcTemplate.update("""
+                UPDATE unit u JOIN tft_dict d ON d.DI_KIND = 'UNIT' AND d.DI_NAME = u.UN_ID
+                SET u.UN_DICT = d.DI_NUM WHERE u.UN_DICT IS NULL
+                """));
+        jdbcTemplate.update("INSERT IGNORE INTO tft_dict (DI_KIND, DI_NAME) SELECT DISTINCT 'TRAIT', TR_NAME FROM trait WHERE TR_DICT IS NULL");
+        updated.put("trait", jdbcTemplate.update("""
+                UPDATE trait t JOIN tft_dict d ON d.DI_KIND = 'TRAIT' AND d.DI_NAME = t.TR_NAME
+                SET t.TR_DICT = d.DI_NUM WHERE t.TR_DICT IS NULL
+                """));
+        int items = 0;
+        for (String slot : List.of("FIRST", "SECOND", "THIRD")) {
+            String name = "IT_" + slot;
+            String dict = "IT_" + slot + "_DICT";
+            jdbcTemplate.update("INSERT IGNORE INTO tft_dict (DI_KIND, DI_NAME) SELECT DISTINCT 'ITEM', " + name
+                    + " FROM item WHERE " + name + " IS NOT NULL AND " + dict + " IS NULL");
+            items += jdbcTemplate.update("UPDATE item i JOIN tft_dict d ON d.DI_KIND = 'ITEM' AND d.DI_NAME = i." + name
+                    + " SET i." + dict + " = d.DI_NUM WHERE i." + dict + " IS NULL");
+        }
+        updated.put("item", items);
+        return updated;
+    }
+}
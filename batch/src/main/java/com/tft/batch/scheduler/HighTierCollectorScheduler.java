@@ -1,6 +1,7 @@
 package com.tft.batch.scheduler;
 
 import com.tft.batch.service.HighTierCollectorService;
+import com.tft.batch.service.LeaderElection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,10 +13,12 @@ import org.springframework.stereotype.Component;
 public class HighTierCollectorScheduler {
 
     private final HighTierCollectorService highTierCollectorService;
+    private final LeaderElection leaderElection;
 
     // 프로그램 시작 시 1회 즉시 실행
     @org.springframework.context.event.EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
     public void init() {
+        if (!leaderElection.isLeader()) return;
         log.info("Triggering initial High Tier Collection...");
         collectHighTierPlayers();
     }
@@ -23,6 +26,8 @@ public class HighTierCollectorScheduler {
     // 매일 새벽 3시에 실행 (0 0 3 * * *)
     @Scheduled(cron = "0 0 3 * * *")
     public void collectHighTierPlayers() {
+        // 클러스터에서 리더 노드만 스윕합니다.
+        if (!leaderElection.isLeader()) return;
         log.info("Scheduled task: Collecting high tier players");
         highTierCollectorService.collectHighTierPlayers();
     }
@@ -13,7 +13,7 @@ public class LpUpdateScheduler {
 
     private final LpUpdateService lpUpdateService;
 
-    // Run every 30 minutes
+    // Run every 30 minutes (각 노드는 consistent hashing 으로 나뉜 자기 몫의 유저만 갱신)
     @Scheduled(fixedDelay = 1800000)
     public void run() {
         log.info("Starting LP Update Scheduler...");
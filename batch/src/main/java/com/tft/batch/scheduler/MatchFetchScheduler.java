@@ -1,23 +1,102 @@
 package com.tft.batch.scheduler;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import com.tft.batch.service.MatchFetchService;
+import com.tft.batch.service.MatchWriteBuffer;
+import com.tft.batch.service.RedisQueueService;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Redis 큐를 소비하는 매치 수집 워커 풀입니다.
+ * 각 워커는 작업을 임대해 꺼내고(큐가 비면 신호 리스트를 BLPOP 으로 기다림), 처리가 끝나면 ack 합니다.
+ * 호출 속도는 RiotRateLimiter 가 API 한도에 맞춰 조절합니다.
+ * MATCH 작업은 상세를 받은 뒤 MatchWriteBuffer 에 넘기고, 저장과 ack 는 writer 스레드가 묶어서 처리합니다.
+ * 워커가 도는 동안 별도 스레드로 하트비트를 보내, 노드가 죽으면 다른 노드가 임대를 바로 회수할 수 있게 합니다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class MatchFetchScheduler {
 
     private final MatchFetchService matchFetchService;
+    private final RedisQueueService redisQueueService;
+    private final MatchWriteBuffer matchWriteBuffer;
+
+    @Value("${batch.worker.count:4}")
+    private int workerCount;
+
+    @Value("${batch.queue.heartbeat-ms:5000}")
+    private long heartbeatMillis;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService heartbeat;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("queue-heartbeat-"));
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+        workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("match-fetch-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::workLoop);
+        }
+        log.info("Started {} match fetch workers as consumer {}", workerCount, redisQueueService.consumerId());
+    }
+
+    private void workLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                matchFetchService.fetchNext();
+            } catch (Exception e) {
+                if (!running) break;
+                log.error("Match fetch worker error: {}", e.getMessage());
+                // Redis 장애 등으로 연속 실패할 때 CPU 를 태우지 않도록 잠시 쉽니다.
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        try {
+            redisQueueService.heartbeat();
+        } catch (Exception e) {
+            log.warn("Failed to send queue heartbeat: {}", e.getMessage());
+        }
+    }
 
-    @Scheduled(fixedDelay = 2000)
-    public void run() {
-        log.info("match fetch scheduler start");
-        matchFetchService.fetchNext();
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (workers == null) return;
+        heartbeat.shutdownNow();
+        workers.shutdownNow();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Match fetch workers did not stop within 10 seconds");
+        }
+        // 버퍼에 남은 매치를 저장·ack 한 뒤에 임대를 반납해야 같은 매치를 다른 노드가 다시 받지 않습니다.
+        matchWriteBuffer.stop(10_000);
+        // 끝내지 못한 임대를 바로 회수 대상으로 돌려 다른 노드가 이어받게 합니다.
+        long released = redisQueueService.deregister();
+        if (released > 0) {
+            log.info("Released {} leased tasks on shutdown", released);
+        }
     }
-}
\ No newline at end of file
+}
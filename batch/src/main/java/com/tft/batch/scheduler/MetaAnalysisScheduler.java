@@ -1,5 +1,6 @@
 package com.tft.batch.scheduler;
 
+import com.tft.batch.service.LeaderElection;
 import com.tft.batch.service.MetaAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,10 +13,12 @@ import org.springframework.stereotype.Component;
 public class MetaAnalysisScheduler {
 
     private final MetaAnalysisService metaAnalysisService;
+    private final LeaderElection leaderElection;
 
     // 프로그램 시작 시 1회 즉시 실행
     @org.springframework.context.event.EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
     public void init() {
+        if (!leaderElection.isLeader()) return;
         log.info("Triggering initial Meta Analysis...");
         metaAnalysisService.analyzeMeta();
     }
@@ -23,6 +26,8 @@ public class MetaAnalysisScheduler {
     // 1시간마다 실행 (매 정각)
     @Scheduled(cron = "0 0 * * * *")
     public void run() {
+        // 클러스터에서 리더 노드만 분석합니다.
+        if (!leaderElection.isLeader()) return;
         metaAnalysisService.analyzeMeta();
     }
 }
@@ -0,0 +1,49 @@
+package com.tft.batch.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tft.batch.service.RedisQueueService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueueMaintenanceScheduler {
+
+    private final RedisQueueService redisQueueService;
+
+    // 레인 도입 전 단일 ready 큐에 남아 있던 작업을 종류별 레인으로 옮깁니다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyQueue() {
+        redisQueueService.migrateLegacyQueue();
+    }
+
+    // 실행 시각이 된 지연 작업(429 등으로 미뤄둔 작업)을 ready 레인으로 되돌립니다.
+    @Scheduled(fixedDelay = 1000)
+    public void promoteDelayedTasks() {
+        long moved = redisQueueService.promoteDueTasks(500);
+        if (moved > 0) {
+            log.info("Promoted {} delayed tasks to ready queue", moved);
+        }
+    }
+
+    // 하트비트가 끊긴 배치 노드의 임대를 회수합니다. (ready 레인으로는 아래 requeueExpiredLeases 가 되돌림)
+    @Scheduled(fixedDelay = 10000)
+    public void reclaimDeadConsumers() {
+        redisQueueService.reclaimDeadConsumers();
+    }
+
+    // 임대 시간이 지나도록 ack 되지 않은 작업(처리 중 컨테이너 재시작 등)을 ready 레인으로 되돌립니다.
+    @Scheduled(fixedDelay = 5000)
+    public void requeueExpiredLeases() {
+        long requeued = redisQueueService.requeueExpiredLeases(500);
+        if (requeued > 0) {
+            log.warn("Requeued {} tasks whose lease expired", requeued);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tft.batch.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.tft.batch.repository.BoardBackfillRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PA_BOARD 도입 전에 저장된 참가자의 보드를 unit / item / trait 테이블에서 만들어 채웁니다.
+ * 한 번 호출에 최대 limit 명까지 처리하고 다음 시작 위치를 돌려주므로, 운영 중에 나눠서 돌릴 수 있습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BoardBackfillService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BoardBackfillRepository boardBackfillRepository;
+
+    /**
+     * @param afterPaNum 이 참가자 번호 다음부터 처리합니다. (처음이면 0)
+     * @return 채운 행 수(updated), 다음 호출에 넘길 시작 위치(nextAfter, 남은 행이 없으면 -1), 압축 전후 크기
+     */
+    public Map<String, Object> backfill(int afterPaNum, int limit) {
+        int cursor = afterPaNum;
+        int updated = 0;
+        long packedBytes = 0;
+        boolean done = false;
+        while (updated < limit) {
+            List<Integer> ids = boardBackfillRepository.findWithoutBoard(cursor, Math.min(CHUNK_SIZE, limit - updated));
+            if (ids.isEmpty()) {
+                done = true;
+                break;
+            }
+            int from = ids.get(0);
+            int to = ids.get(ids.size() - 1);
+            Map<Integer, BoardCodec.Board> boards = boardBackfillRepository.loadBoards(from, to);
+
+            Map<Integer, byte[]> packed = new LinkedHashMap<>();
+            for (Integer paNum : ids) {
+                BoardCodec.Board board = boards.getOrDefault(paNum, new BoardCodec.Board(List.of(), List.of()));
+                byte[] bytes = BoardCodec.encode(board);
+                packed.put(paNum, bytes);
+                packedBytes += bytes.length;
+            }
+            updated += boardBackfillRepository.updateBoards(packed);
+            cursor = to;
+        }
+        log.info("Backfilled PA_BOARD for {} participants (up to PA_NUM {})", updated, cursor);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("updated", updated);
+        result.put("nextAfter", done ? -1 : cursor);
+        result.put("packedBytes", packedBytes);
+        result.put("storage", boardBackfillRepository.storageReport());
+        return result;
+    }
+
+    public Map<String, Object> storageReport() {
+        return boardBackfillRepository.storageReport();
+    }
+}
@@ -0,0 +1,172 @@
+package com.tft.batch.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+
+/**
+ * 참가자 한 명의 보드(유닛, 성급, 아이템, 시너지)를 participant.PA_BOARD 한 컬럼에 담는 압축 형식입니다.
+ * 매치 화면을 unit / item / trait 세 테이블 조회 없이 그릴 수 있게 하려는 것으로, web 의 BoardCodec 과 형식이 같아야 합니다.
+ * <pre>
+ * version(1)
+ * 문자열 수, (길이, UTF-8 바이트) * n          -- 보드 안에서 반복되는 ID 는 한 번만 적습니다.
+ * 유닛 수, (ID, 이름, 성급, 코스트, 아이템 수, 아이템...) * n
+ * 시너지 수, (이름, 유닛 수, 스타일) * n
+ * </pre>
+ * 숫자는 모두 unsigned varint 이고, 문자열 자리에는 문자열 표의 번호가 들어갑니다.
+ */
+public final class BoardCodec {
+
+    static final int VERSION = 1;
+
+    private BoardCodec() {
+    }
+
+    public static byte[] encode(Participant participant) {
+        List<BoardUnit> units = new ArrayList<>(participant.getUnits().size());
+        for (Unit u : participant.getUnits()) {
+            List<String> items = new ArrayList<>(3);
+            Item item = u.getItem();
+            if (item != null) {
+                if (item.getItFirst() != null) items.add(item.getItFirst());
+                if (item.getItSecond() != null) items.add(item.getItSecond());
+                if (item.getItThird() != null) items.add(item.getItThird());
+            }
+            units.add(new BoardUnit(u.getUnId(), u.getUnName(), u.getUnTier(), u.getUnCost(), items));
+        }
+        List<BoardTrait> traits = new ArrayList<>(participant.getTraits().size());
+        for (Trait t : participant.getTraits()) {
+            traits.add(new BoardTrait(t.getTrName(), t.getTrNumUnits(), t.getTrStyle()));
+        }
+        return encode(new Board(units, traits));
+    }
+
+    public static byte[] encode(Board board) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (BoardUnit u : board.units()) {
+            intern(u.id(), index, strings);
+            intern(u.name(), index, strings);
+            u.items().forEach(item -> intern(item, index, strings));
+        }
+        board.traits().forEach(t -> intern(t.name(), index, strings));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(VERSION);
+        writeVarint(out, strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        writeVarint(out, board.units().size());
+        for (BoardUnit u : board.units()) {
+            writeVarint(out, index.get(u.id()));
+            writeVarint(out, index.get(u.name()));
+            writeVarint(out, u.star());
+            writeVarint(out, u.cost());
+            writeVarint(out, u.items().size());
+            for (String item : u.items()) {
+                writeVarint(out, index.get(item));
+            }
+        }
+        writeVarint(out, board.traits().size());
+        for (BoardTrait t : board.traits()) {
+            writeVarint(out, index.get(t.name()));
+            writeVarint(out, t.numUnits());
+            writeVarint(out, t.style());
+        }
+        return out.toByteArray();
+    }
+
+    public static Board decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.readVarint();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported board version: " + version);
+        }
+        String[] strings = new String[in.readVarint()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString(in.readVarint());
+        }
+        int unitCount = in.readVarint();
+        List<BoardUnit> units = new ArrayList<>(unitCount);
+        for (int i = 0; i < unitCount; i++) {
+            String id = strings[in.readVarint()];
+            String name = strings[in.readVarint()];
+            int star = in.readVarint();
+            int cost = in.readVarint();
+            int itemCount = in.readVarint();
+            List<String> items = new ArrayList<>(itemCount);
+            for (int j = 0; j < itemCount; j++) {
+                items.add(strings[in.readVarint()]);
+            }
+            units.add(new BoardUnit(id, name, star, cost, items));
+        }
+        int traitCount = in.readVarint();
+        List<BoardTrait> traits = new ArrayList<>(traitCount);
+        for (int i = 0; i < traitCount; i++) {
+            traits.add(new BoardTrait(strings[in.readVarint()], in.readVarint(), in.readVarint()));
+        }
+        return new Board(units, traits);
+    }
+
+    private static void intern(String value, Map<String, Integer> index, List<String> strings) {
+        if (index.putIfAbsent(value, strings.size()) == null) {
+            strings.add(value);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value in board: " + value);
+        }
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = data[pos++];
+                value |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint at " + pos);
+        }
+
+        String readString(int length) {
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+
+    public record Board(List<BoardUnit> units, List<BoardTrait> traits) {
+    }
+
+    public record BoardUnit(String id, String name, int star, int cost, List<String> items) {
+    }
+
+    public record BoardTrait(String name, int numUnits, int style) {
+    }
+}
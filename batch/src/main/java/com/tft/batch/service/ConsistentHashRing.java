@@ -0,0 +1,44 @@
+package com.tft.batch.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 노드 이름을 가상 노드 여러 개로 링에 올려, 키를 살아 있는 노드에 고르게 나눕니다.
+ * 노드가 하나 빠지거나 추가되어도 그 노드 몫의 키만 옮겨갑니다.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * @return key 를 맡을 노드, 링이 비어 있으면 null
+     */
+    public String nodeFor(String key) {
+        if (ring.isEmpty()) return null;
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String value) {
+        long z = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            z ^= (b & 0xff);
+            z *= 0x100000001b3L;
+        }
+        // FNV 만으로는 접미사만 다른 가상 노드가 몰릴 수 있어 한 번 더 섞습니다.
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
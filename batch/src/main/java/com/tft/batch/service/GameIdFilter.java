@@ -0,0 +1,203 @@
+package com.tft.batch.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.tft.batch.repository.GameInfoBatchRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장된 매치 ID(GA_ID)의 Bloom filter 입니다. Redis 비트맵(tft:bloom:gaid)에 두어 모든 배치 워커가 함께 씁니다.
+ * "없음" 이라고 답한 ID 는 확실히 저장되지 않은 것이므로, processSummoner 는 "있을 수도 있음" 으로 나온 ID 만 DB 에 확인합니다.
+ * 필터가 아직 없으면(최초 실행, Redis 초기화) 모든 ID 를 "있을 수도 있음" 으로 답하고, 기동 시 DB 에서 다시 만듭니다.
+ * 비트 수(batch.ga-id-filter.bits)를 바꾸면 기존 키를 지워 다시 만들어야 합니다.
+ * 웹도 자기가 저장한 매치를 같은 필터에 넣으므로, 비트 수와 해시 수는 tft:bloom:gaid:layout 에 올려 두고
+ * 비트 위치 계산(offsets)은 web 의 GameIdFilter 와 같아야 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameIdFilter {
+
+    private static final String FILTER_KEY = "tft:bloom:gaid";
+    private static final String BUILDING_KEY = "tft:bloom:gaid:building";
+    // "비트 수:해시 수" - 웹이 같은 비트 위치를 계산하는 데 씁니다.
+    private static final String LAYOUT_KEY = "tft:bloom:gaid:layout";
+    private static final long BUILD_TTL_SECONDS = 3600;
+    private static final int ADD_BATCH = 1000;
+
+    // 필터가 없으면 빈 목록, 있으면 ID 마다 1(있을 수도 있음) / 0(없음)
+    // KEYS: filter / ARGV: 해시 수, ID 별 비트 위치...
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CHECK_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {}
+            end
+            local k = tonumber(ARGV[1])
+            local result = {}
+            for i = 2, #ARGV, k do
+                local present = 1
+                for j = i, i + k - 1 do
+                    if redis.call('GETBIT', KEYS[1], ARGV[j]) == 0 then
+                        present = 0
+                        break
+                    end
+                end
+                table.insert(result, present)
+            end
+            return result
+            """, List.class);
+
+    // 이미 있는 키(사용 중인 필터, 다시 만드는 중인 필터)에만 비트를 켭니다.
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            local updated = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then
+                    for i = 1, #ARGV do
+                        redis.call('SETBIT', key, ARGV[i], 1)
+                    end
+                    updated = updated + 1
+                end
+            end
+            return updated
+            """, Long.class);
+
+    // 다른 워커가 이미 만들고 있지 않을 때만 빈 필터를 만듭니다.
+    private static final RedisScript<Long> BEGIN_BUILD_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('SETBIT', KEYS[1], ARGV[1], 0)
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final GameInfoBatchRepository gameInfoBatchRepository;
+
+    // 기본 2^24 비트(2MB), 해시 7개: 약 100만 개에서 오탐률 1% 안팎
+    @Value("${batch.ga-id-filter.bits:16777216}")
+    private long bits;
+
+    @Value("${batch.ga-id-filter.hashes:7}")
+    private int hashes;
+
+    /**
+     * 저장되어 있을 수도 있는 ID 만 골라 돌려줍니다. 필터가 없으면 전부 돌려줍니다.
+     */
+    public List<String> mightContain(List<String> gaIds) {
+        if (gaIds.isEmpty()) return gaIds;
+        List<String> args = new ArrayList<>(1 + gaIds.size() * hashes);
+        args.add(String.valueOf(hashes));
+        for (String gaId : gaIds) {
+            for (long offset : offsets(gaId, hashes, bits)) {
+                args.add(String.valueOf(offset));
+            }
+        }
+        List<?> answers = redisTemplate.execute(CHECK_SCRIPT, List.of(FILTER_KEY), args.toArray());
+        if (answers == null || answers.size() != gaIds.size()) {
+            return gaIds;
+        }
+        List<String> maybe = new ArrayList<>();
+        for (int i = 0; i < gaIds.size(); i++) {
+            if (((Number) answers.get(i)).longValue() == 1) {
+                maybe.add(gaIds.get(i));
+            }
+        }
+        return maybe;
+    }
+
+    public void add(String gaId) {
+        addAll(List.of(gaId));
+    }
+
+    public void addAll(Collection<String> gaIds) {
+        if (gaIds.isEmpty()) return;
+        List<String> args = new ArrayList<>(gaIds.size() * hashes);
+        for (String gaId : gaIds) {
+            for (long offset : offsets(gaId, hashes, bits)) {
+                args.add(String.valueOf(offset));
+            }
+        }
+        redisTemplate.execute(ADD_SCRIPT, List.of(FILTER_KEY, BUILDING_KEY), args.toArray());
+    }
+
+    /**
+     * 웹이 읽을 비트 배치를 올리고, 필터가 없으면 game_info 전체를 읽어 다시 만듭니다. 워커가 기다리지 않도록 별도 스레드에서 실행합니다.
+     * 만드는 동안 저장된 ID 도 빠지지 않도록 새 필터는 building 키에 채운 뒤 RENAME 으로 바꿔 끼웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        redisTemplate.opsForValue().set(LAYOUT_KEY, bits + ":" + hashes);
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(FILTER_KEY))) return;
+        Long started = redisTemplate.execute(BEGIN_BUILD_SCRIPT, List.of(BUILDING_KEY),
+                String.valueOf(bits - 1), String.valueOf(BUILD_TTL_SECONDS));
+        if (started == null || started == 0) return;
+
+        Thread builder = new Thread(this::rebuild, "ga-id-filter-rebuild");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void rebuild() {
+        try {
+            List<String> chunk = new ArrayList<>(ADD_BATCH);
+            long[] count = {0};
+            gameInfoBatchRepository.forEachGaId(gaId -> {
+                chunk.add(gaId);
+                if (chunk.size() >= ADD_BATCH) {
+                    addAll(chunk);
+                    count[0] += chunk.size();
+                    chunk.clear();
+                }
+            });
+            addAll(chunk);
+            count[0] += chunk.size();
+            redisTemplate.rename(BUILDING_KEY, FILTER_KEY);
+            redisTemplate.persist(FILTER_KEY);
+            log.info("Rebuilt GA_ID filter from game_info: {} ids", count[0]);
+        } catch (Exception e) {
+            log.error("Failed to rebuild GA_ID filter: {}", e.getMessage());
+            redisTemplate.delete(BUILDING_KEY);
+        }
+    }
+
+    /**
+     * 두 해시를 섞어 k 개의 비트 위치를 만듭니다. (Kirsch-Mitzenmacher double hashing)
+     */
+    static long[] offsets(String value, int k, long bits) {
+        long h1 = fnv1a64(value.getBytes(StandardCharsets.UTF_8));
+        long h2 = mix64(h1) | 1;
+        long[] offsets = new long[k];
+        for (int i = 0; i < k; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return offsets;
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
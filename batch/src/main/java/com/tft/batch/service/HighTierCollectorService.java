@@ -4,13 +4,17 @@ import com.tft.batch.client.RiotLeagueClient;
 import com.tft.batch.client.dto.TftLeagueEntryDto;
 import com.tft.batch.client.dto.TftLeagueItemDto;
 import com.tft.batch.client.dto.TftLeagueListDto;
+import com.tft.batch.model.entity.LpHistory;
+import com.tft.batch.repository.LpHistoryBatchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,22 +23,27 @@ public class HighTierCollectorService {
 
     private final RiotLeagueClient riotLeagueClient;
     private final RedisQueueService redisQueueService;
-    private final com.tft.batch.repository.LpHistoryRepository lpHistoryRepository;
+    private final LadderSnapshotService ladderSnapshotService;
+    private final LpHistoryBatchRepository lpHistoryBatchRepository;
 
-    @Transactional
+    /**
+     * 래더를 내려받아 이전 스냅샷과 메모리에서 비교하고, 바뀐 유저만 lp_history 에 한 번에 기록합니다.
+     * 유저별 DB 조회나 아이콘 조회를 하지 않으므로 스윕 동안 트랜잭션을 길게 잡지 않습니다.
+     */
     public void collectHighTierPlayers() {
         log.info("Starting High Tier player collection...");
+        Sweep sweep = new Sweep(ladderSnapshotService.load());
 
         // 1. Challenger
         try {
-            collectLeague(riotLeagueClient.getChallengerLeague(), "CHALLENGER", 100);
+            collectLeague(riotLeagueClient.getChallengerLeague(), "CHALLENGER", 100, sweep);
         } catch (Exception e) {
             log.error("Failed to collect Challenger league: {}", e.getMessage());
         }
 
         // 2. Grandmaster
         try {
-            collectLeague(riotLeagueClient.getGrandmasterLeague(), "GRANDMASTER", 80);
+            collectLeague(riotLeagueClient.getGrandmasterLeague(), "GRANDMASTER", 80, sweep);
         } catch (Exception e) {
             log.error("Failed to collect Grandmaster league: {}", e.getMessage());
         }
@@ -44,7 +53,7 @@ public class HighTierCollectorService {
         try {
             TftLeagueListDto masterLeague = riotLeagueClient.getMasterLeague();
             if (masterLeague != null && masterLeague.getEntries() != null && !masterLeague.getEntries().isEmpty()) {
-                masterCount = collectLeague(masterLeague, "MASTER", 50);
+                masterCount = collectLeague(masterLeague, "MASTER", 50, sweep);
             }
         } catch (Exception e) {
             log.error("Failed to collect Master league: {}", e.getMessage());
@@ -58,17 +67,29 @@ public class HighTierCollectorService {
                 if (emeraldEntries != null && !emeraldEntries.isEmpty()) {
                     // 상위 일부만 수집 (너무 많으면 API 할당량 초과 위험)
                     List<TftLeagueEntryDto> limitedEntries = emeraldEntries.subList(0, Math.min(emeraldEntries.size(), 200));
-                    collectLeagueEntries(limitedEntries, "EMERALD", 50);
+                    collectLeagueEntries(limitedEntries, "EMERALD", 50, sweep);
                 }
             } catch (Exception e) {
                 log.error("Failed to collect Emerald I entries: {}", e.getMessage());
             }
         }
 
+        flush(sweep);
         log.info("High Tier player collection finished.");
     }
 
-    private int collectLeague(TftLeagueListDto league, String tierName, int priority) {
+    private void flush(Sweep sweep) {
+        lpHistoryBatchRepository.insertAll(sweep.rows);
+        ladderSnapshotService.putAll(sweep.changed);
+        // 아이콘은 처음 보거나 아이콘이 없는 유저만 워커가 따로 조회해 최신 기록에 채웁니다.
+        sweep.missingIcons.forEach((puuid, priority) -> sweep.tasks.add(new RedisQueueService.QueueTask(puuid, "ICON", priority)));
+        // 레인이 포화 상태면 낮은 우선순위 작업은 지연 큐로 미룹니다.
+        int deferred = redisQueueService.pushTasksWithAdmission(sweep.tasks);
+        log.info("Ladder diff: {} changed entries written, {} players queued for icon, {} tasks deferred by backpressure",
+                sweep.rows.size(), sweep.missingIcons.size(), deferred);
+    }
+
+    private int collectLeague(TftLeagueListDto league, String tierName, int priority, Sweep sweep) {
         if (league == null || league.getEntries() == null) {
             log.warn("League data is null or empty for {}", tierName);
             return 0;
@@ -80,7 +101,7 @@ public class HighTierCollectorService {
 
         int count = 0;
         for (TftLeagueItemDto entry : league.getEntries()) {
-            if (processEntry(entry, tierName, priority)) {
+            if (processEntry(entry, tierName, priority, sweep)) {
                 count++;
             }
         }
@@ -91,7 +112,7 @@ public class HighTierCollectorService {
     /**
      * 리스트 형태(다이아몬드 이하)의 엔트리를 처리합니다.
      */
-    private void collectLeagueEntries(List<TftLeagueEntryDto> entries, String tierName, int priority) {
+    private void collectLeagueEntries(List<TftLeagueEntryDto> entries, String tierName, int priority, Sweep sweep) {
         int count = 0;
         for (TftLeagueEntryDto entry : entries) {
             // TftLeagueEntryDto를 TftLeagueItemDto와 호환되게 변환하거나 직접 처리
@@ -103,81 +124,77 @@ public class HighTierCollectorService {
             item.setRank(entry.getRank());
             // PUUID는 Entries API 결과에 없을 수 있으므로 ID 변환 큐를 타게 됨
             
-            if (processEntry(item, tierName, priority)) {
+            if (processEntry(item, tierName, priority, sweep)) {
                 count++;
             }
         }
         log.info("Added {} players to queue from {} I entries", count, tierName);
     }
 
-    private boolean processEntry(TftLeagueItemDto entry, String tierName, int priority) {
+    private boolean processEntry(TftLeagueItemDto entry, String tierName, int priority, Sweep sweep) {
         // Case 1: PUUID가 있는 경우
         if (entry.getPuuid() != null && !entry.getPuuid().isEmpty()) {
-            redisQueueService.pushTask(entry.getPuuid(), "SUMMONER", priority);
-            try {
-                saveLpHistory(entry, tierName);
-            } catch (Exception e) {
-                log.error("Failed to save LP history for {}: {}", entry.getPuuid(), e.getMessage());
-            }
+            sweep.tasks.add(new RedisQueueService.QueueTask(entry.getPuuid(), "SUMMONER", priority));
+            sweep.diff(entry, tierName, priority);
             return true;
         } 
         // Case 2: SummonerID만 있는 경우
         else if (entry.getSummonerId() != null) {
-            redisQueueService.pushTask(entry.getSummonerId(), "SUMMONER_ID", priority);
+            sweep.tasks.add(new RedisQueueService.QueueTask(entry.getSummonerId(), "SUMMONER_ID", priority));
             return true;
         }
         return false;
     }
 
-    private void saveLpHistory(TftLeagueItemDto entry, String tier) {
-        com.tft.batch.model.entity.LpHistory lastRecord = lpHistoryRepository.findTopByPuuidOrderByCreatedAtDesc(entry.getPuuid());
-
-        boolean needUpdate = false;
-        int iconId = 29; // 기본 아이콘 지정
+    /**
+     * 한 번의 스윕 동안 모은 변경분입니다.
+     */
+    private static class Sweep {
+        private final Map<String, LadderSnapshotService.Entry> snapshot;
+        private final LocalDateTime now = LocalDateTime.now();
+        private final List<LpHistory> rows = new ArrayList<>();
+        private final Map<String, LadderSnapshotService.Entry> changed = new LinkedHashMap<>();
+        private final Map<String, Integer> missingIcons = new LinkedHashMap<>();
+        // 스윕이 끝난 뒤 한 번에 큐에 넣을 작업 (SUMMONER, SUMMONER_ID, ICON)
+        private final List<RedisQueueService.QueueTask> tasks = new ArrayList<>();
+
+        Sweep(Map<String, LadderSnapshotService.Entry> snapshot) {
+            this.snapshot = snapshot;
+        }
 
-        if (lastRecord == null) {
-            needUpdate = true;
-            iconId = fetchIconIdSafely(entry.getPuuid());
-        } else {
-            // 이미 수집된 아이콘이 있으면 재사용, 없으면 수집
-            iconId = lastRecord.getProfileIconId() > 0 ? lastRecord.getProfileIconId() : fetchIconIdSafely(entry.getPuuid());
+        void diff(TftLeagueItemDto entry, String tier, int priority) {
+            String puuid = entry.getPuuid();
+            LadderSnapshotService.Entry previous = snapshot.get(puuid);
 
-            // 점수나 티어가 바뀌었을 때만 저장
-            if (lastRecord.getLp() != entry.getLeaguePoints() || !lastRecord.getTier().equals(tier)) {
-                needUpdate = true;
-            }
-            // 기존 데이터 마이그레이션: 과거 기록(승패가 0)일 경우 누적 데이터 최신화를 위해 새로 저장
-            if (lastRecord.getWins() == 0 && entry.getWins() > 0) {
-                needUpdate = true;
+            // 아이콘 번호 갱신 목적의 마이그레이션: 처음 보는 유저와 아이콘이 0 인 예전 기록은 ICON 작업으로 채웁니다.
+            if (previous == null || previous.iconId() == 0) {
+                missingIcons.putIfAbsent(puuid, priority);
             }
-            // 아이콘 번호 갱신 목적의 마이그레이션 저장
-            if (lastRecord.getProfileIconId() == 0 && iconId > 0) {
-                needUpdate = true;
-            }
-        }
 
-        if (needUpdate) {
-            lpHistoryRepository.save(com.tft.batch.model.entity.LpHistory.builder()
-                    .puuid(entry.getPuuid())
+            boolean needUpdate = previous == null
+                    // 점수나 티어가 바뀌었을 때만 저장
+                    || previous.lp() != entry.getLeaguePoints()
+                    || !tier.equals(previous.tier())
+                    // 기존 데이터 마이그레이션: 과거 기록(승패가 0)일 경우 누적 데이터 최신화를 위해 새로 저장
+                    || (previous.wins() == 0 && entry.getWins() > 0);
+            if (!needUpdate) return;
+
+            int iconId = previous != null ? previous.iconId() : 0;
+            LadderSnapshotService.Entry current = new LadderSnapshotService.Entry(tier, entry.getRank(),
+                    entry.getLeaguePoints(), entry.getWins(), entry.getLosses(), iconId);
+            rows.add(LpHistory.builder()
+                    .puuid(puuid)
                     .tier(tier)
                     .rank_str(entry.getRank())
                     .lp(entry.getLeaguePoints())
                     .wins(entry.getWins())
                     .losses(entry.getLosses())
                     .profileIconId(iconId)
-                    .createdAt(LocalDateTime.now())
+                    .createdAt(now)
                     .build());
+            // 같은 스윕 안에서 다시 나오면(승급 등) 방금 기록한 값과 비교합니다.
+            snapshot.put(puuid, current);
+            changed.put(puuid, current);
         }
     }
-
-    private int fetchIconIdSafely(String puuid) {
-        try {
-            // 라이엇 API 제한(2분에 100회=1.2초당 1회)을 매우 안전하게 우회하기 위해 1.5초 대기
-            Thread.sleep(1500); 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        com.tft.batch.client.dto.TftSummonerDto summoner = riotLeagueClient.getTftSummonerByPuuid(puuid);
-        return (summoner != null && summoner.getProfileIconId() > 0) ? summoner.getProfileIconId() : 29;
-    }
 }
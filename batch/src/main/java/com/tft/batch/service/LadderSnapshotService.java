@@ -0,0 +1,105 @@
+package com.tft.batch.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.tft.batch.model.entity.LpHistory;
+import com.tft.batch.repository.LpHistoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 마지막으로 기록한 유저별 랭크 상태(티어, 랭크, LP, 승패, 아이콘)를 Redis Hash 에 보관합니다.
+ * 고티어 스윕은 유저마다 DB 를 조회하는 대신 이 스냅샷과 메모리에서 비교해 바뀐 유저만 기록합니다.
+ * 스냅샷이 비어 있으면(최초 실행, Redis 초기화) lp_history 의 유저별 최신 기록으로 한 번 채웁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LadderSnapshotService {
+
+    private static final String SNAPSHOT_KEY = "tft:ladder:snapshot";
+
+    private final StringRedisTemplate redisTemplate;
+    private final LpHistoryRepository lpHistoryRepository;
+
+    public Map<String, Entry> load() {
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(SNAPSHOT_KEY);
+        if (raw.isEmpty()) {
+            return bootstrap();
+        }
+        Map<String, Entry> snapshot = new HashMap<>(raw.size() * 2);
+        raw.forEach((puuid, value) -> {
+            Entry entry = Entry.decode((String) value);
+            if (entry != null) snapshot.put((String) puuid, entry);
+        });
+        return snapshot;
+    }
+
+    public void putAll(Map<String, Entry> entries) {
+        if (entries.isEmpty()) return;
+        Map<String, String> encoded = new HashMap<>(entries.size() * 2);
+        entries.forEach((puuid, entry) -> encoded.put(puuid, entry.encode()));
+        redisTemplate.opsForHash().putAll(SNAPSHOT_KEY, encoded);
+    }
+
+    /**
+     * 다른 경로(LP 갱신 스케줄러 등)에서 lp_history 를 기록했을 때 스냅샷도 같이 맞춥니다.
+     */
+    public void put(LpHistory history) {
+        redisTemplate.opsForHash().put(SNAPSHOT_KEY, history.getPuuid(), Entry.of(history).encode());
+    }
+
+    public void updateIcon(String puuid, int iconId) {
+        Object value = redisTemplate.opsForHash().get(SNAPSHOT_KEY, puuid);
+        Entry entry = value != null ? Entry.decode((String) value) : null;
+        if (entry == null) return;
+        redisTemplate.opsForHash().put(SNAPSHOT_KEY, puuid, entry.withIconId(iconId).encode());
+    }
+
+    private Map<String, Entry> bootstrap() {
+        List<LpHistory> latest = lpHistoryRepository.findLatestPerPuuid();
+        Map<String, Entry> snapshot = new HashMap<>(latest.size() * 2);
+        for (LpHistory history : latest) {
+            snapshot.put(history.getPuuid(), Entry.of(history));
+        }
+        putAll(snapshot);
+        log.info("Bootstrapped ladder snapshot from lp_history: {} players", snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * 스냅샷 한 칸입니다. Redis 에는 "tier|rank|lp|wins|losses|iconId" 문자열로 저장합니다.
+     */
+    public record Entry(String tier, String rank, int lp, int wins, int losses, int iconId) {
+
+        static Entry of(LpHistory history) {
+            return new Entry(history.getTier(), history.getRank_str(), history.getLp(),
+                    history.getWins(), history.getLosses(), history.getProfileIconId());
+        }
+
+        Entry withIconId(int iconId) {
+            return new Entry(tier, rank, lp, wins, losses, iconId);
+        }
+
+        String encode() {
+            return (tier != null ? tier : "") + "|" + (rank != null ? rank : "") + "|" + lp + "|" + wins + "|" + losses + "|" + iconId;
+        }
+
+        static Entry decode(String value) {
+            String[] parts = value.split("\\|", -1);
+            if (parts.length != 6) return null;
+            try {
+                return new Entry(parts[0], parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
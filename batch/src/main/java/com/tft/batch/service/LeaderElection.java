@@ -0,0 +1,99 @@
+package com.tft.batch.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 임대(tft:leader) 기반 리더 선출입니다. 클러스터 전체에서 한 번만 돌아야 하는 작업
+ * (고티어 스윕, 메타 분석)은 리더 노드에서만 실행합니다.
+ * 리더는 별도 스레드로 임대를 갱신하므로 긴 작업 중에도 리더 자리를 잃지 않고,
+ * 리더가 죽으면 임대가 만료된 뒤 다른 노드가 이어받습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderElection {
+
+    private static final String LEADER_KEY = "tft:leader";
+
+    // 내가 리더면 임대를 늘리고, 빈 자리면 차지합니다. 리더면 1, 아니면 0
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            if not current then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisQueueService redisQueueService;
+
+    @Value("${batch.leader.lease-ms:15000}")
+    private long leaseMillis;
+
+    private volatile boolean leader;
+    private ScheduledExecutorService renewer;
+
+    @PostConstruct
+    void start() {
+        // 기동 직후의 1회 실행(ApplicationReadyEvent)도 리더 여부를 알 수 있도록 한 번은 바로 시도합니다.
+        renew();
+        renewer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("leader-election-"));
+        renewer.scheduleWithFixedDelay(this::renew, leaseMillis / 3, leaseMillis / 3, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    private void renew() {
+        boolean acquired;
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEADER_KEY),
+                    redisQueueService.consumerId(), String.valueOf(leaseMillis));
+            acquired = result != null && result == 1;
+        } catch (Exception e) {
+            // 임대를 확인할 수 없으면 두 노드가 동시에 리더가 되지 않도록 내려놓습니다.
+            log.warn("Failed to renew leader lease: {}", e.getMessage());
+            acquired = false;
+        }
+        if (acquired != leader) {
+            log.info(acquired ? "Became cluster leader ({})" : "Lost cluster leadership ({})", redisQueueService.consumerId());
+        }
+        leader = acquired;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (renewer != null) renewer.shutdownNow();
+        if (leader) {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), redisQueueService.consumerId());
+            leader = false;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.tft.batch.service;
 
+import com.tft.batch.client.RiotHostPausedException;
 import com.tft.batch.client.RiotLeagueClient;
+import com.tft.batch.client.RiotUnavailableException;
 import com.tft.batch.client.dto.TftLeagueEntryDto;
 import com.tft.batch.model.entity.LpHistory;
 import com.tft.batch.repository.LpHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,19 +22,38 @@ public class LpUpdateService {
 
     private final LpHistoryRepository lpHistoryRepository;
     private final RiotLeagueClient riotLeagueClient;
+    private final LadderSnapshotService ladderSnapshotService;
+    private final RedisQueueService redisQueueService;
 
+    @Value("${batch.lp-update.virtual-nodes:100}")
+    private int virtualNodes;
+
+    /**
+     * 최근 24시간 동안 활동한 유저의 LP 를 갱신합니다.
+     * 여러 배치 노드가 떠 있으면 PUUID 를 살아 있는 노드에 consistent hashing 으로 나눠, 각 노드는 자기 몫만 처리합니다.
+     */
     @Transactional
     public void updateActiveSummonersLp() {
         // 1. Get PUUIDs active in the last 24 hours
         LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-        List<String> activePuuids = lpHistoryRepository.findDistinctPuuidByCreatedAtAfter(oneDayAgo);
+        List<String> allPuuids = lpHistoryRepository.findDistinctPuuidByCreatedAtAfter(oneDayAgo);
+
+        List<String> nodes = redisQueueService.liveConsumers();
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, virtualNodes);
+        String self = redisQueueService.consumerId();
+        List<String> activePuuids = allPuuids.stream().filter(puuid -> self.equals(ring.nodeFor(puuid))).toList();
 
-        log.info("Found {} active summoners to track LP.", activePuuids.size());
+        log.info("Found {} active summoners to track LP ({} assigned to this node of {}).",
+                allPuuids.size(), activePuuids.size(), nodes.size());
 
         for (String puuid : activePuuids) {
             try {
                 processPuuid(puuid);
                 // Thread.sleep removed for faster processing
+            } catch (RiotHostPausedException | RiotUnavailableException e) {
+                // 남은 유저는 호출해도 바로 거절되므로 이번 갱신은 여기서 멈추고 다음 주기에 이어갑니다.
+                log.warn("Stopping LP update: {}", e.getMessage());
+                break;
             } catch (Exception e) {
                 log.error("Error updating LP for puuid: {}", puuid, e);
             }
@@ -39,10 +61,7 @@ public class LpUpdateService {
     }
 
     private void processPuuid(String puuid) {
-        // API Rate Limit 보존을 위한 미세 대기 (1.5초)
-        try { Thread.sleep(1500); } catch (InterruptedException ignored) {}
-
-        // API 호출
+        // API 호출 (호출 간격은 RiotRateLimiter 가 한도에 맞춰 조절)
         TftLeagueEntryDto league = riotLeagueClient.getTftLeagueByPuuid(puuid);
         if (league == null) return;
 
@@ -66,8 +85,15 @@ public class LpUpdateService {
 
         // 아이콘 정보가 없는 경우 추가 조회
         if (iconId == 0) {
-            com.tft.batch.client.dto.TftSummonerDto s = riotLeagueClient.getTftSummonerByPuuid(puuid);
-            if (s != null) iconId = s.getProfileIconId();
+            try {
+                com.tft.batch.client.dto.TftSummonerDto s = riotLeagueClient.getTftSummonerByPuuid(puuid);
+                if (s != null) iconId = s.getProfileIconId();
+            } catch (RiotHostPausedException | RiotUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                // 아이콘 없이(0) 저장해 두면 다음 조회 때 다시 채웁니다.
+                log.warn("Failed to fetch icon for {}: {}", puuid, e.getMessage());
+            }
         }
 
         // 저장용 객체 만들어서 DB에 추가
@@ -84,6 +110,7 @@ public class LpUpdateService {
                     .build();
             
             lpHistoryRepository.save(newHistory);
+            ladderSnapshotService.put(newHistory);
             log.info("Updated LP for {}: {} {} {}LP", puuid, league.getTier(), league.getRank(), league.getLeaguePoints());
         }
     }
@@ -1,19 +1,17 @@
 package com.tft.batch.service;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.tft.batch.client.dto.RiotMatchDetailResponse;
 import com.tft.batch.model.entity.GameInfo;
-import com.tft.batch.model.entity.Item;
 import com.tft.batch.model.entity.Participant;
-import com.tft.batch.model.entity.Trait;
-import com.tft.batch.model.entity.Unit;
 import com.tft.batch.repository.GameInfoRepository;
+import com.tft.batch.repository.MatchBulkWriter;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -25,84 +23,63 @@ import lombok.extern.slf4j.Slf4j;
 public class MatchDetailSaveService {
 
     private final GameInfoRepository gameInfoRepository;
-
+    private final GameIdFilter gameIdFilter;
+    private final MatchBulkWriter matchBulkWriter;
+
+    // false 면 예전처럼 존재 확인 후 JPA cascade 로 저장합니다. (행마다 INSERT, 동시 저장 시 경합 가능)
+    @Value("${batch.ingest.bulk-insert:true}")
+    private boolean bulkInsert;
+
+    // 참가자 보드를 PA_BOARD 에도 압축해 넣습니다. (web 매치 화면이 unit / item / trait 조회 없이 읽음)
+    @Value("${batch.ingest.packed-board:true}")
+    private boolean packedBoard;
+
+    /**
+     * MatchDetailDecoder 가 응답에서 바로 만든 엔티티 그래프를 저장합니다.
+     * MatchBulkWriter 가 game_info 를 INSERT IGNORE 로 넣고, 이미 있는 매치면 participant / unit / item / trait 를 건너뜁니다.
+     * 존재 확인과 INSERT 사이에 다른 워커가 끼어들 틈이 없어 같은 매치를 동시에 저장해도 트랜잭션이 깨지지 않습니다.
+     * 사전 번호(TftDictionary.encode)는 호출하는 쪽이 트랜잭션 밖에서 먼저 채워 둡니다.
+     * 저장한 GA_ID 는 GameIdFilter 에도 넣습니다. 롤백되더라도 필터에는 "있을 수도 있음" 으로만 남아 DB 확인으로 걸러집니다.
+     */
     @Transactional
-    public void save(RiotMatchDetailResponse response) {
-        if (gameInfoRepository.existsByGaId(response.getMetadata().getMatch_id())) {
-            return;
+    public void save(GameInfo gameInfo) {
+        packBoards(gameInfo);
+        if (bulkInsert) {
+            matchBulkWriter.insert(gameInfo);
+        } else if (!gameInfoRepository.existsByGaId(gameInfo.getGaId())) {
+            gameInfoRepository.save(gameInfo);
         }
+        gameIdFilter.add(gameInfo.getGaId());
+    }
 
-        RiotMatchDetailResponse.Info info = response.getInfo();
-
-        GameInfo gameInfo = new GameInfo();
-        gameInfo.setGaId(response.getMetadata().getMatch_id());
-        
-        LocalDateTime gameDateTime = Instant
-                .ofEpochMilli(info.getGame_datetime())
-                .atZone(ZoneId.of("Asia/Seoul"))
-                .toLocalDateTime();
-        gameInfo.setGaDatetime(gameDateTime);
-        gameInfo.setGaVersion(info.getGame_version());
-        gameInfo.setQueueId(info.getQueue_id());
-
-        for (RiotMatchDetailResponse.Participant pDto : info.getParticipants()) {
-            Participant p = new Participant();
-            p.setPaPuuid(pDto.getPuuid());
-            p.setPaPlacement(pDto.getPlacement());
-            p.setPaLevel(pDto.getLevel());
-            p.setPaGold(pDto.getGold_left());
-            p.setPaName(pDto.getRiotIdGameName() != null ? pDto.getRiotIdGameName() : "");
-            p.setPaTag(pDto.getRiotIdTagline() != null ? pDto.getRiotIdTagline() : "");
-            
-            if (pDto.getAugments() != null) {
-                p.setPaAugments(String.join(",", pDto.getAugments()));
-            }
-
-            if (pDto.getCompanion() != null) {
-                p.setPaCompanionId(pDto.getCompanion().getItem_ID());
-            }
-
-            p.setGameInfo(gameInfo);
-            gameInfo.getParticipants().add(p);
-
-            // Traits
-            if (pDto.getTraits() != null) {
-                for (RiotMatchDetailResponse.Trait tDto : pDto.getTraits()) {
-                    if (tDto.getTier_current() > 0) {
-                        Trait t = new Trait();
-                        t.setTrName(tDto.getName());
-                        t.setTrNumUnits(tDto.getNum_units());
-                        t.setTrStyle(tDto.getStyle());
-                        t.setParticipant(p);
-                        p.getTraits().add(t);
-                    }
-                }
-            }
-
-            // Units
-            if (pDto.getUnits() != null) {
-                for (RiotMatchDetailResponse.Unit uDto : pDto.getUnits()) {
-                    Unit u = new Unit();
-                    u.setUnId(uDto.getCharacter_id());
-                    u.setUnName(uDto.getCharacter_id()); // KoName은 웹에서 매핑
-                    u.setUnTier(uDto.getTier());
-                    u.setUnCost(uDto.getRarity()); // Riot API에서는 rarity가 cost 개념
-                    u.setParticipant(p);
-                    p.getUnits().add(u);
-
-                    if (uDto.getItemNames() != null && !uDto.getItemNames().isEmpty()) {
-                        Item item = new Item();
-                        java.util.List<String> items = uDto.getItemNames();
-                        item.setItFirst(items.size() > 0 ? items.get(0) : null);
-                        item.setItSecond(items.size() > 1 ? items.get(1) : null);
-                        item.setItThird(items.size() > 2 ? items.get(2) : null);
-                        item.setUnit(u);
-                        u.setItem(item);
-                    }
+    /**
+     * 여러 매치를 한 트랜잭션(커밋 한 번)으로 저장합니다. 이미 저장된 매치는 save 와 같이 INSERT IGNORE 로 건너뜁니다.
+     * 하나라도 실패하면 전체가 롤백되므로, 호출하는 쪽에서 매치별 save 로 다시 시도합니다.
+     */
+    @Transactional
+    public void saveAll(List<GameInfo> gameInfos) {
+        if (gameInfos.isEmpty()) return;
+        List<String> gaIds = gameInfos.stream().map(GameInfo::getGaId).toList();
+        gameInfos.forEach(this::packBoards);
+        if (bulkInsert) {
+            matchBulkWriter.insertAll(gameInfos);
+        } else {
+            Set<String> seen = new HashSet<>(gameInfoRepository.findExistingGaIds(gaIds));
+            List<GameInfo> fresh = new ArrayList<>(gameInfos.size());
+            for (GameInfo gameInfo : gameInfos) {
+                if (seen.add(gameInfo.getGaId())) {
+                    fresh.add(gameInfo);
                 }
             }
+            gameInfoRepository.saveAll(fresh);
         }
+        gameIdFilter.addAll(gaIds);
+    }
 
-        gameInfoRepository.save(gameInfo);
+    private void packBoards(GameInfo gameInfo) {
+        if (!packedBoard) return;
+        for (Participant participant : gameInfo.getParticipants()) {
+            participant.setPaBoard(BoardCodec.encode(participant));
+        }
     }
 }
@@ -1,15 +1,20 @@
 package com.tft.batch.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
+import com.tft.batch.client.RiotHostPausedException;
 import com.tft.batch.client.RiotMatchClient;
+import com.tft.batch.client.RiotRateLimiter;
 import com.tft.batch.client.RiotSummonerClient;
-import com.tft.batch.client.dto.RiotMatchDetailResponse;
+import com.tft.batch.client.RiotUnavailableException;
 import com.tft.batch.client.dto.TftSummonerDto;
+import com.tft.batch.model.entity.GameInfo;
 import com.tft.batch.repository.GameInfoRepository;
+import com.tft.batch.repository.LpHistoryBatchRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,49 +27,149 @@ public class MatchFetchService {
     private final RedisQueueService redisQueueService;
     private final RiotMatchClient riotMatchClient;
     private final RiotSummonerClient riotSummonerClient;
-    private final MatchDetailSaveService matchDetailSaveService;
     private final GameInfoRepository gameInfoRepository;
+    private final GameIdFilter gameIdFilter;
     
     // [추가] 랭킹 정보 즉시 갱신을 위한 의존성
     private final com.tft.batch.client.RiotLeagueClient riotLeagueClient;
     private final com.tft.batch.repository.LpHistoryRepository lpHistoryRepository;
+    private final LpHistoryBatchRepository lpHistoryBatchRepository;
+    private final LadderSnapshotService ladderSnapshotService;
+    private final MatchIdWatermarkService matchIdWatermarkService;
+    private final MatchWriteBuffer matchWriteBuffer;
+    private final RiotRateLimiter riotRateLimiter;
 
-    @Transactional
-    public void fetchNext() {
-        // Redis 큐에서 우선순위가 가장 높은 작업 하나를 꺼냅니다.
-        RedisQueueService.QueueTask task = redisQueueService.popTask();
-        if (task == null) return;
+    private static final long SEASON_START_EPOCH = 1776178800L; // 2026년 4월 15일 기준
 
-        processTask(task);
+    @Value("${batch.worker.poll-timeout-ms:5000}")
+    private long pollTimeoutMillis;
+
+    // 실패한 작업의 첫 재시도 지연. 실패할 때마다 두 배로 늘어나며 max-backoff-ms 를 넘지 않습니다.
+    @Value("${batch.worker.failure-retry-ms:30000}")
+    private long failureRetryMillis;
+
+    @Value("${batch.worker.max-backoff-ms:1800000}")
+    private long maxBackoffMillis;
+
+    // 이 횟수만큼 실패하면 dead-letter 로 옮깁니다.
+    @Value("${batch.worker.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${batch.worker.pop-batch:4}")
+    private int popBatchSize;
+
+    // 기준 시각보다 이만큼 앞에서부터 다시 요청합니다. (갱신 시점에 진행 중이던 게임은 시작 시각이 기준보다 앞서므로)
+    @Value("${batch.match-ids.watermark-overlap-sec:3600}")
+    private long watermarkOverlapSeconds;
+
+    /**
+     * 큐에서 작업을 최대 pop-batch 개 꺼내 차례로 처리합니다. 큐가 비어 있으면 poll-timeout 동안 새 작업을 기다립니다.
+     * 대기 중에 DB 커넥션을 잡지 않도록 트랜잭션은 각 처리 단계에서만 엽니다.
+     * @return 처리할 작업이 있었으면 true, 대기 시간 안에 작업이 없었으면 false
+     */
+    public boolean fetchNext() {
+        // 호스트가 429 로 멈춘 동안 임대하면 작업마다 임대/미루기 왕복만 생기므로, 꺼내지 않고 재개 시각까지 쉽니다.
+        // (큐 작업 대부분이 asia 호출이고 정지는 Retry-After 만큼이라, 어느 호스트가 멈췄는지는 가리지 않습니다.)
+        long hostPausedUntil = riotRateLimiter.pausedUntil();
+        if (hostPausedUntil > 0) {
+            pauseUntil(hostPausedUntil);
+            return true;
+        }
+
+        // Redis 큐에서 우선순위가 높은 작업들을 한 번에 임대합니다.
+        java.util.List<RedisQueueService.QueueTask> tasks = redisQueueService.popTasks(popBatchSize, pollTimeoutMillis);
+        if (tasks.isEmpty()) return false;
+
+        long pausedUntil = 0;
+        for (RedisQueueService.QueueTask task : tasks) {
+            if (pausedUntil > System.currentTimeMillis()) {
+                // Riot 장애로 멈춘 동안 남은 작업은 호출하지 않고 함께 미뤄둡니다.
+                redisQueueService.deferTask(task, pausedUntil);
+                continue;
+            }
+            pausedUntil = Math.max(pausedUntil, processTask(task));
+        }
+        pauseUntil(pausedUntil);
+        return true;
     }
 
-    private void processTask(RedisQueueService.QueueTask queue) {
+    /**
+     * @return Riot 장애로 워커가 쉬어야 하면 재개 시각(epoch ms), 아니면 0
+     */
+    private long processTask(RedisQueueService.QueueTask queue) {
         try {
             if ("SUMMONER".equals(queue.type)) {
                 processSummoner(queue);
             } else if ("MATCH".equals(queue.type)) {
+                // 저장과 ack 는 MatchWriteBuffer 가 커밋한 뒤에 합니다.
                 processMatch(queue);
+                return 0;
             } else if ("SUMMONER_ID".equals(queue.type)) {
                 processSummonerId(queue);
+            } else if ("ICON".equals(queue.type)) {
+                processIcon(queue);
+            } else if ("BACKFILL".equals(queue.type)) {
+                processBackfill(queue);
             }
-            // ZSet에서 이미 Pop 되었으므로 DONE 처리는 별도로 필요하지 않습니다.
+            // 처리가 끝난 작업만 임대를 지웁니다. (도중에 재시작되면 임대 만료 후 ready 큐로 돌아옴)
+            redisQueueService.ack(queue);
+        } catch (QueueSaturatedException e) {
+            // 하위 작업을 넣을 레인이 포화 상태면 이 작업 자체를 뒤로 미뤄 생산 속도를 늦춥니다.
+            redisQueueService.deferForBackpressure(queue);
+        } catch (RiotHostPausedException e) {
+            // 다른 워커가 받은 429 로 호스트가 멈춰 있으므로 재개 시각까지 미뤄두고,
+            // 함께 꺼낸 나머지 작업도 미룬 뒤 워커를 쉬게 합니다.
+            redisQueueService.deferTask(queue, e.getResumeAtMillis());
+            return e.getResumeAtMillis();
         } catch (HttpClientErrorException.TooManyRequests e) {
-            log.warn("Rate limit exceeded. Waiting based on Retry-After header...");
-            
-            String retryAfter = e.getResponseHeaders().getFirst("Retry-After");
-            int waitSec = (retryAfter != null) ? Integer.parseInt(retryAfter) : 10;
-            
-            // 상태를 READY 대신 Redis 큐에 다시 밀어넣어 다음 순서에 시도하도록 합니다. (Re-queue)
-            redisQueueService.pushTask(queue.id, queue.type, queue.priority);
+            String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst("Retry-After") : null;
+            int waitSec = (retryAfter != null) ? Integer.parseInt(retryAfter.trim()) : 10;
+            log.warn("Rate limit exceeded for {}:{}. Deferring for {}s", queue.type, queue.id, waitSec + 1);
 
-            try {
-                Thread.sleep((waitSec + 1) * 1000L);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            // 워커를 재우지 않고 지연 큐에 넣어 Retry-After 이후에 다시 ready 큐로 돌아오게 합니다.
+            redisQueueService.deferTask(queue, System.currentTimeMillis() + (waitSec + 1) * 1000L);
+        } catch (RiotUnavailableException e) {
+            // Riot 장애로 회로가 열려 있으면 작업을 버리지 않고 시험 호출이 가능해질 때까지 미루고,
+            // 워커도 그동안 큐를 계속 꺼내지 않도록 쉬게 합니다.
+            redisQueueService.deferTask(queue, e.getRetryAtMillis());
+            return e.getRetryAtMillis();
+        } catch (HttpClientErrorException e) {
+            // 429 외의 4xx 는 다시 보내도 결과가 같으므로 재시도 없이 dead-letter 로 보냅니다.
+            log.warn("Riot API rejected {}:{} ({}). Moving to dead-letter", queue.type, queue.id, e.getStatusCode());
+            redisQueueService.deadLetter(queue, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            // 종료 중 저장 버퍼 자리를 기다리다 깨어난 경우: 임대는 종료 시 deregister 가 반납합니다.
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
-            log.error("Error processing queue {}: {}", queue.id, e.getMessage());
-            // 에러 발생 시 버려지거나 데드레터 큐로 보냄 (현재는 로그만 남김)
+            retryOrDeadLetter(queue, e);
+        }
+        return 0;
+    }
+
+    /**
+     * 5xx, 타임아웃, 역직렬화/DB 오류 등은 지수 백오프로 다시 시도하고, 한도를 넘으면 dead-letter 로 보냅니다.
+     */
+    private void retryOrDeadLetter(RedisQueueService.QueueTask queue, Exception e) {
+        long attempts = redisQueueService.retryLater(queue, failureRetryMillis, maxBackoffMillis, maxAttempts,
+                e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempts == RedisQueueService.LEASE_LOST) {
+            // 임대가 회수되어 다른 워커가 다시 가져간 작업이므로 이번 실패는 반영하지 않습니다.
+            return;
+        }
+        if (attempts == RedisQueueService.DEAD_LETTERED) {
+            log.error("Giving up on {}:{} after {} attempts: {}", queue.type, queue.id, maxAttempts, e.getMessage());
+        } else {
+            log.warn("Failed {}:{} (attempt {}/{}): {}", queue.type, queue.id, attempts, maxAttempts, e.getMessage());
+        }
+    }
+
+    private void pauseUntil(long resumeAtMillis) {
+        long waitMillis = Math.min(resumeAtMillis - System.currentTimeMillis(), pollTimeoutMillis);
+        if (waitMillis <= 0) return;
+        try {
+            Thread.sleep(waitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -89,33 +194,75 @@ public class MatchFetchService {
                             || (!lastRecord.getTier().equals(league.getTier()));
 
                     if (needUpdate) {
-                        lpHistoryRepository.save(com.tft.batch.model.entity.LpHistory.builder()
+                        ladderSnapshotService.put(lpHistoryRepository.save(com.tft.batch.model.entity.LpHistory.builder()
                                 .puuid(puuid)
                                 .tier(league.getTier())
                                 .rank_str(league.getRank())
                                 .lp(league.getLeaguePoints())
                                 .createdAt(java.time.LocalDateTime.now())
-                                .build());
+                                .build()));
                         log.info("Initialized LpHistory for resolved PUUID: {}", puuid);
                     }
                 }
+            } catch (RiotHostPausedException | RiotUnavailableException e) {
+                // 작업째 미뤄 재개 후에 다시 처리합니다. (SUMMONER 작업 재등록은 같은 멤버라 중복되지 않음)
+                throw e;
             } catch (Exception e) {
                 log.error("Failed to fetch/save League info for resolved PUUID {}: {}", puuid, e.getMessage());
             }
         }
     }
 
+    /**
+     * 고티어 스윕에서 아이콘이 없는 유저(처음 발견, 예전 기록)의 프로필 아이콘을 조회해 최신 LP 기록과 스냅샷에 채웁니다.
+     * 조회가 실패하면 아무것도 쓰지 않고 예외를 올려 작업을 미루거나 재시도합니다.
+     * 기본 아이콘(29)은 Riot 이 실제로 아이콘 번호를 주지 않았을 때만 씁니다.
+     */
+    public void processIcon(RedisQueueService.QueueTask queue) {
+        TftSummonerDto summoner = riotLeagueClient.getTftSummonerByPuuid(queue.id);
+        if (summoner == null) {
+            throw new IllegalStateException("Empty summoner response for " + queue.id);
+        }
+        int iconId = summoner.getProfileIconId() > 0 ? summoner.getProfileIconId() : 29;
+        lpHistoryBatchRepository.updateLatestIcon(queue.id, iconId);
+        ladderSnapshotService.updateIcon(queue.id, iconId);
+    }
+
+    /**
+     * 마지막 수집 이후에 시작한 게임의 매치 ID 만 받아 큐에 넣습니다. 기록이 없으면 시즌 시작부터 받습니다.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void processSummoner(RedisQueueService.QueueTask queue) {
-        log.info("Fetching ALL match IDs for PUUID={} since Season Start (Apr 15)", queue.id);
-        
+        Long watermark = matchIdWatermarkService.get(queue.id);
+        long startTime = watermark != null
+                ? Math.max(SEASON_START_EPOCH, watermark - watermarkOverlapSeconds)
+                : SEASON_START_EPOCH;
+        collectMatchIds(queue, startTime);
+    }
+
+    /**
+     * 기준 시각과 관계없이 시즌 시작부터 모든 매치 ID 를 다시 받습니다. (명시적으로 요청한 백필 전용)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void processBackfill(RedisQueueService.QueueTask queue) {
+        collectMatchIds(queue, SEASON_START_EPOCH);
+    }
+
+    private void collectMatchIds(RedisQueueService.QueueTask queue, long startTime) {
+        // MATCH 레인이 포화 상태면 매치 ID 를 받지 않고(기준 시각도 그대로) 나중에 다시 처리합니다.
+        if (!redisQueueService.bypassesAdmission(queue.priority) && redisQueueService.isSaturated("MATCH")) {
+            throw new QueueSaturatedException("MATCH");
+        }
+        log.info("Fetching match IDs for PUUID={} since {}", queue.id, startTime);
+
+        // 목록을 끝까지 받은 뒤에만 기준 시각을 올리므로, 도중에 실패하면 다음에 같은 구간을 다시 받습니다.
+        long walkStartedAt = System.currentTimeMillis() / 1000;
         java.util.List<String> allMatchIds = new java.util.ArrayList<>();
         int start = 0;
-        long seasonStartEpoch = 1776178800L; // 2026년 4월 15일 기준
 
         // 1. Riot API에서 매치 ID 리스트 수집
         while (true) {
-            java.util.List<String> ids = riotMatchClient.fetchMatchIds(queue.id, start, 100, seasonStartEpoch);
+            java.util.List<String> ids = riotMatchClient.fetchMatchIds(queue.id, start, 100, startTime);
             if (ids == null || ids.isEmpty()) break;
             allMatchIds.addAll(ids);
             if (ids.size() < 100) break;
@@ -123,37 +270,51 @@ public class MatchFetchService {
         }
         
         log.info("Total matches found for {}: {}", queue.id, allMatchIds.size());
-        
+        pushNewMatches(queue, allMatchIds);
+        matchIdWatermarkService.advance(queue.id, walkStartedAt);
+    }
+
+    private void pushNewMatches(RedisQueueService.QueueTask queue, java.util.List<String> allMatchIds) {
         if (allMatchIds.isEmpty()) return;
 
         // 2. [Bulk Optimization] 이미 저장된 게임 조회
-        java.util.List<String> existingGaIds = gameInfoRepository.findExistingGaIds(allMatchIds);
-        java.util.Set<String> finishedGameSet = new java.util.HashSet<>(existingGaIds);
+        // Bloom filter 가 "없음" 이라고 답한 ID 는 확실히 새 게임이므로, "있을 수도 있음" 인 ID 만 DB 에 확인합니다.
+        java.util.List<String> maybeStored = gameIdFilter.mightContain(allMatchIds);
+        java.util.Set<String> finishedGameSet = maybeStored.isEmpty()
+                ? java.util.Set.of()
+                : new java.util.HashSet<>(gameInfoRepository.findExistingGaIds(maybeStored));
 
         int newPriority = (int) queue.priority - 1;
-        int pushedCount = 0;
+        java.util.List<RedisQueueService.QueueTask> matchTasks = new java.util.ArrayList<>();
 
-        // 3. 필터링 후 Redis 큐로 푸시
+        // 3. 필터링 후 Redis 큐로 한 번에 푸시 (variadic ZADD)
         for (String matchId : allMatchIds) {
             // 이미 수집된 게임이면 스킵
             if (finishedGameSet.contains(matchId)) {
                 continue;
             }
-            redisQueueService.pushTask(matchId, "MATCH", newPriority);
-            pushedCount++;
+            matchTasks.add(new RedisQueueService.QueueTask(matchId, "MATCH", newPriority));
         }
 
-        if (pushedCount > 0) {
-            log.info("Queued {} matches for fetching.", pushedCount);
+        if (!matchTasks.isEmpty()) {
+            redisQueueService.pushTasks(matchTasks);
+            log.info("Queued {} matches for fetching.", matchTasks.size());
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processMatch(RedisQueueService.QueueTask queue) {
+    /**
+     * 매치 상세를 받아 저장 버퍼에 넘깁니다. 저장은 writer 스레드가 다른 매치와 묶어 커밋하고,
+     * 커밋되면 ack, 실패하면 다른 작업과 같은 방식으로 재시도합니다.
+     */
+    public void processMatch(RedisQueueService.QueueTask queue) throws InterruptedException {
         log.info("Fetching details for MatchID={}", queue.id);
-        RiotMatchDetailResponse response = riotMatchClient.fetchMatchDetail(queue.id);
-        if (response != null) {
-            matchDetailSaveService.save(response);
+        GameInfo gameInfo = riotMatchClient.fetchMatchDetail(queue.id);
+        if (gameInfo == null) {
+            redisQueueService.ack(queue);
+            return;
         }
+        matchWriteBuffer.submit(gameInfo,
+                () -> redisQueueService.ack(queue),
+                e -> retryOrDeadLetter(queue, e));
     }
 }
\ No newline at end of file
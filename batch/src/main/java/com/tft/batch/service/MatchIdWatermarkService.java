@@ -0,0 +1,44 @@
+package com.tft.batch.service;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 유저별 매치 ID 수집 기준 시각(epoch 초)을 Redis Hash(tft:watermark:match-ids)에 보관합니다.
+ * 매치 ID 목록을 끝까지 받은 시각을 기록해 두고, 다음 갱신은 그 이후(startTime)에 시작한 게임만 요청합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchIdWatermarkService {
+
+    private static final String WATERMARK_KEY = "tft:watermark:match-ids";
+
+    // 기준 시각은 앞으로만 움직입니다. (늦게 끝난 이전 갱신이 더 최근 기준을 덮지 않도록)
+    private static final RedisScript<Long> ADVANCE_SCRIPT = RedisScript.of("""
+            local current = redis.call('HGET', KEYS[1], ARGV[1])
+            if current and tonumber(current) >= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return 기록된 기준 시각(epoch 초), 없으면 null
+     */
+    public Long get(String puuid) {
+        Object value = redisTemplate.opsForHash().get(WATERMARK_KEY, puuid);
+        return value != null ? Long.parseLong((String) value) : null;
+    }
+
+    public void advance(String puuid, long epochSeconds) {
+        redisTemplate.execute(ADVANCE_SCRIPT, List.of(WATERMARK_KEY), puuid, String.valueOf(epochSeconds));
+    }
+}
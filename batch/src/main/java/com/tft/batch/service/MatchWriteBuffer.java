@@ -0,0 +1,165 @@
+package com.tft.batch.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tft.batch.model.entity.GameInfo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 매치 수집 파이프라인의 저장 단계입니다.
+ * 수집 워커는 디코딩한 매치를 이 버퍼에 넣고 바로 다음 Riot 호출로 넘어가며, 전용 writer 스레드가
+ * 최대 group-size 개 또는 group-wait-ms 동안 모인 매치를 한 트랜잭션(커밋 한 번)으로 저장합니다.
+ * 묶음 저장이 실패하면 매치별로 다시 저장해 문제가 된 매치만 실패 처리합니다.
+ * 큐 작업은 커밋된 뒤에만 ack 하므로, 저장 전에 노드가 죽어도 임대가 만료되면 다시 수집됩니다.
+ * 버퍼가 가득 차면 submit 이 기다리므로 DB 가 느려지면 수집 속도도 함께 늦춰집니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchWriteBuffer {
+
+    private final MatchDetailSaveService matchDetailSaveService;
+    private final TftDictionary tftDictionary;
+
+    @Value("${batch.ingest.buffer-capacity:256}")
+    private int capacity;
+
+    @Value("${batch.ingest.group-size:50}")
+    private int groupSize;
+
+    @Value("${batch.ingest.group-wait-ms:200}")
+    private long groupWaitMillis;
+
+    private BlockingQueue<PendingMatch> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "match-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 저장할 매치를 넣습니다. 버퍼에 자리가 날 때까지 기다립니다.
+     * @param onCommitted 커밋된 뒤 writer 스레드에서 호출됩니다. (ack)
+     * @param onFailed 매치별 저장까지 실패하면 writer 스레드에서 호출됩니다. (재시도 / dead-letter)
+     */
+    public void submit(GameInfo gameInfo, Runnable onCommitted, Consumer<Exception> onFailed) throws InterruptedException {
+        if (!running) {
+            throw new IllegalStateException("Match writer is stopped");
+        }
+        buffer.put(new PendingMatch(gameInfo, onCommitted, onFailed));
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    private void writeLoop() {
+        List<PendingMatch> group = new ArrayList<>(groupSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingMatch first = buffer.poll(groupWaitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                group.add(first);
+                long deadline = System.currentTimeMillis() + groupWaitMillis;
+                while (group.size() < groupSize) {
+                    long waitMillis = deadline - System.currentTimeMillis();
+                    if (waitMillis <= 0) break;
+                    PendingMatch next = buffer.poll(waitMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    group.add(next);
+                    buffer.drainTo(group, groupSize - group.size());
+                }
+                write(group);
+            } catch (InterruptedException e) {
+                // 인터럽트되면 새 매치는 받지 않고, 버퍼에 남은 매치만 마저 저장한 뒤 끝냅니다.
+                running = false;
+            } catch (Exception e) {
+                log.error("Match writer error: {}", e.getMessage());
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingMatch> candidates) {
+        // 사전 번호는 저장 트랜잭션을 열기 전에 채웁니다. (새 ID 등록은 별도 트랜잭션이라, 안에서 하면 커넥션을 둘 잡음)
+        List<PendingMatch> group = new ArrayList<>(candidates.size());
+        for (PendingMatch pending : candidates) {
+            try {
+                tftDictionary.encode(pending.gameInfo());
+                group.add(pending);
+            } catch (Exception e) {
+                pending.failed(e);
+            }
+        }
+        if (group.isEmpty()) return;
+        try {
+            matchDetailSaveService.saveAll(group.stream().map(PendingMatch::gameInfo).toList());
+            group.forEach(PendingMatch::committed);
+            log.debug("Committed {} matches in one transaction", group.size());
+            return;
+        } catch (Exception e) {
+            if (group.size() == 1) {
+                group.get(0).failed(e);
+                return;
+            }
+            log.warn("Group commit of {} matches failed, retrying one by one: {}", group.size(), e.getMessage());
+        }
+        for (PendingMatch pending : group) {
+            try {
+                matchDetailSaveService.save(pending.gameInfo());
+                pending.committed();
+            } catch (Exception e) {
+                pending.failed(e);
+            }
+        }
+    }
+
+    /**
+     * 새 매치를 더 받지 않고, 버퍼에 남은 매치를 모두 저장한 뒤 돌아옵니다.
+     * 수집 워커를 멈춘 뒤, 임대를 반납하기 전에 호출합니다.
+     */
+    public void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        writer.join(timeoutMillis);
+        if (writer.isAlive()) {
+            log.warn("Match writer did not drain within {}ms ({} matches left)", timeoutMillis, buffer.size());
+        }
+    }
+
+    private record PendingMatch(GameInfo gameInfo, Runnable onCommitted, Consumer<Exception> onFailed) {
+
+        void committed() {
+            try {
+                onCommitted.run();
+            } catch (Exception e) {
+                log.warn("Post-commit callback failed for {}: {}", gameInfo.getGaId(), e.getMessage());
+            }
+        }
+
+        void failed(Exception error) {
+            try {
+                onFailed.accept(error);
+            } catch (Exception e) {
+                log.warn("Failure callback failed for {}: {}", gameInfo.getGaId(), e.getMessage());
+            }
+        }
+    }
+}
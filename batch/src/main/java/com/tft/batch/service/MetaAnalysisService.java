@@ -1,6 +1,7 @@
 package com.tft.batch.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tft.batch.model.entity.Item;
 import com.tft.batch.model.entity.MetaDeck;
 import com.tft.batch.model.entity.Participant;
 import com.tft.batch.model.entity.Trait;
@@ -26,6 +27,7 @@ public class MetaAnalysisService {
     private final ParticipantRepository participantRepository;
     private final MetaDeckRepository metaDeckRepository;
     private final ObjectMapper objectMapper;
+    private final TftDictionary tftDictionary;
 
     @Transactional
     public void analyzeMeta() {
@@ -42,10 +44,10 @@ public class MetaAnalysisService {
         participantRepository.fetchUnits(participants);
         log.info("Total participants to analyze: {}", participants.size());
 
-        // 1. 덱 그룹화 (유닛 조합 기반)
-        Map<String, List<Participant>> deckGroups = new HashMap<>();
+        // 1. 덱 그룹화 (유닛 조합 기반, 문자열 대신 tft_dict 번호로 묶음)
+        Map<DeckKey, List<Participant>> deckGroups = new HashMap<>();
         for (Participant p : participants) {
-            String deckKey = generateDeckKey(p);
+            DeckKey deckKey = generateDeckKey(p);
             if (deckKey != null) {
                 deckGroups.computeIfAbsent(deckKey, k -> new ArrayList<>()).add(p);
             }
@@ -58,11 +60,11 @@ public class MetaAnalysisService {
         List<MetaDeck> newDecks = new ArrayList<>();
         double totalGames = participants.size() / 8.0;
 
-        for (Map.Entry<String, List<Participant>> entry : deckGroups.entrySet()) {
+        for (Map.Entry<DeckKey, List<Participant>> entry : deckGroups.entrySet()) {
             List<Participant> group = entry.getValue();
             if (group.size() < 5) continue; // 표본 최소 5개
 
-            String mainTrait = entry.getKey();
+            String mainTrait = entry.getKey().numUnits() + " " + tftDictionary.nameOf(entry.getKey().traitId());
             
             // 통계 계산
             double avgPlacement = group.stream().mapToInt(Participant::getPaPlacement).average().orElse(8.0);
@@ -108,30 +110,32 @@ public class MetaAnalysisService {
         log.info("Analysis complete. Saved {} decks.", newDecks.size());
     }
 
-    private String generateDeckKey(Participant p) {
+    private DeckKey generateDeckKey(Participant p) {
         // 가장 단계가 높은 시너지를 키로 사용 (예: "7 Pentakill")
         return p.getTraits().stream()
                 .filter(t -> t.getTrStyle() >= 1)
                 .max(Comparator.comparingInt(Trait::getTrStyle)
                         .thenComparingInt(Trait::getTrNumUnits))
-                .map(t -> t.getTrNumUnits() + " " + t.getTrName())
+                .map(t -> new DeckKey(t.getTrNumUnits(), traitId(t)))
                 .orElse(null);
     }
 
     private List<UnitInfo> calculateCoreUnits(List<Participant> group) {
-        Map<String, Integer> unitCounts = new HashMap<>();
-        Map<String, Map<String, Integer>> itemStats = new HashMap<>();
-        Map<String, Integer> unitCosts = new HashMap<>();
+        Map<Integer, Integer> unitCounts = new HashMap<>();
+        Map<Integer, Map<Integer, Integer>> itemStats = new HashMap<>();
+        Map<Integer, Integer> unitCosts = new HashMap<>();
 
         for (Participant p : group) {
             for (Unit u : p.getUnits()) {
-                unitCounts.merge(u.getUnId(), 1, Integer::sum);
-                unitCosts.put(u.getUnId(), u.getUnCost());
+                Integer unitId = unitId(u);
+                unitCounts.merge(unitId, 1, Integer::sum);
+                unitCosts.put(unitId, u.getUnCost());
                 
-                if (u.getItem() != null) {
-                    processItem(u.getItem().getItFirst(), u.getUnId(), itemStats);
-                    processItem(u.getItem().getItSecond(), u.getUnId(), itemStats);
-                    processItem(u.getItem().getItThird(), u.getUnId(), itemStats);
+                Item item = u.getItem();
+                if (item != null) {
+                    processItem(itemId(item.getItFirstDict(), item.getItFirst()), unitId, itemStats);
+                    processItem(itemId(item.getItSecondDict(), item.getItSecond()), unitId, itemStats);
+                    processItem(itemId(item.getItThirdDict(), item.getItThird()), unitId, itemStats);
                 }
             }
         }
@@ -140,16 +144,17 @@ public class MetaAnalysisService {
                 .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
                 .limit(8)
                 .map(e -> {
-                    String unitId = e.getKey();
+                    Integer unitId = e.getKey();
                     List<String> bestItems = itemStats.getOrDefault(unitId, Collections.emptyMap())
                             .entrySet().stream()
+                            .filter(i -> isEquipment(i.getKey()))
                             .sorted((i1, i2) -> i2.getValue().compareTo(i1.getValue()))
                             .limit(3)
-                            .map(Map.Entry::getKey)
+                            .map(i -> tftDictionary.nameOf(i.getKey()))
                             .collect(Collectors.toList());
                     
                     return UnitInfo.builder()
-                            .name(unitId)
+                            .name(tftDictionary.nameOf(unitId))
                             .cost(unitCosts.get(unitId))
                             .items(bestItems)
                             .build();
@@ -157,44 +162,69 @@ public class MetaAnalysisService {
                 .collect(Collectors.toList());
     }
 
-    private void processItem(String itemName, String unitId, Map<String, Map<String, Integer>> itemStats) {
-        if (itemName == null || itemName.isEmpty() || itemName.contains("Augment")) return;
-        itemStats.computeIfAbsent(unitId, k -> new HashMap<>()).merge(itemName, 1, Integer::sum);
+    private void processItem(Integer itemId, Integer unitId, Map<Integer, Map<Integer, Integer>> itemStats) {
+        if (itemId == null) return;
+        itemStats.computeIfAbsent(unitId, k -> new HashMap<>()).merge(itemId, 1, Integer::sum);
+    }
+
+    // 빈 이름과 아이템 칸에 들어온 증강은 집계에서 뺍니다. (행마다가 아니라 집계된 번호마다 확인)
+    private boolean isEquipment(int itemId) {
+        String itemName = tftDictionary.nameOf(itemId);
+        return itemName != null && !itemName.isEmpty() && !itemName.contains("Augment");
     }
 
     private List<String> calculateCoreTraits(List<Participant> group) {
-        Map<String, Integer> traitCounts = new HashMap<>();
+        Map<Integer, Integer> traitCounts = new HashMap<>();
         for (Participant p : group) {
             for (Trait t : p.getTraits()) {
                 if (t.getTrStyle() >= 1) {
-                    traitCounts.merge(t.getTrName(), 1, Integer::sum);
+                    traitCounts.merge(traitId(t), 1, Integer::sum);
                 }
             }
         }
         return traitCounts.entrySet().stream()
                 .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
                 .limit(5)
-                .map(Map.Entry::getKey)
+                .map(e -> tftDictionary.nameOf(e.getKey()))
                 .collect(Collectors.toList());
     }
 
     private List<String> calculateKeyAugments(List<Participant> group) {
-        Map<String, Integer> augmentCounts = new HashMap<>();
+        Map<Integer, Integer> augmentCounts = new HashMap<>();
         for (Participant p : group) {
-            if (p.getPaAugments() != null) {
+            if (p.getPaAugmentDicts() != null) {
+                if (p.getPaAugmentDicts().isEmpty()) continue;
+                for (String a : p.getPaAugmentDicts().split(",")) {
+                    augmentCounts.merge(Integer.parseInt(a), 1, Integer::sum);
+                }
+            } else if (p.getPaAugments() != null) {
+                // 사전 번호를 채우기 전에 저장된 행
                 String[] augs = p.getPaAugments().split(",");
                 for (String a : augs) {
-                    augmentCounts.merge(a, 1, Integer::sum);
+                    augmentCounts.merge(tftDictionary.idOf(TftDictionary.Kind.AUGMENT, a), 1, Integer::sum);
                 }
             }
         }
         return augmentCounts.entrySet().stream()
                 .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
                 .limit(4)
-                .map(Map.Entry::getKey)
+                .map(e -> tftDictionary.nameOf(e.getKey()))
                 .collect(Collectors.toList());
     }
 
+    // *_DICT 가 비어 있는 예전 행은 문자열로 사전을 찾습니다. (POST /api/dict/backfill 후에는 타지 않음)
+    private Integer unitId(Unit u) {
+        return u.getUnDict() != null ? u.getUnDict() : tftDictionary.idOf(TftDictionary.Kind.UNIT, u.getUnId());
+    }
+
+    private Integer traitId(Trait t) {
+        return t.getTrDict() != null ? t.getTrDict() : tftDictionary.idOf(TftDictionary.Kind.TRAIT, t.getTrName());
+    }
+
+    private Integer itemId(Integer dict, String name) {
+        return dict != null ? dict : tftDictionary.idOf(TftDictionary.Kind.ITEM, name);
+    }
+
     private String generateDeckName(String mainTrait, List<UnitInfo> coreUnits) {
         // 메인 시너지 + 고코스트 핵심 유닛 이름
         String carry = coreUnits.stream()
@@ -205,6 +235,9 @@ public class MetaAnalysisService {
         return mainTrait + (carry.isEmpty() ? "" : " " + carry);
     }
 
+    private record DeckKey(int numUnits, int traitId) {
+    }
+
     @Data
     @Builder
     public static class UnitInfo {
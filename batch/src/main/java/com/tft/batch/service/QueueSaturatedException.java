@@ -0,0 +1,18 @@
+package com.tft.batch.service;
+
+import lombok.Getter;
+
+/**
+ * 작업이 만들어낼 하위 작업의 레인이 포화 상태라 지금은 처리하지 않을 때 발생합니다.
+ * 작업은 버리지 않고 {@link RedisQueueService#deferForBackpressure(RedisQueueService.QueueTask)} 로 미뤄둡니다.
+ */
+@Getter
+public class QueueSaturatedException extends RuntimeException {
+
+    private final String lane;
+
+    public QueueSaturatedException(String lane) {
+        super("Queue lane " + lane + " is saturated");
+        this.lane = lane;
+    }
+}
@@ -0,0 +1,142 @@
+package com.tft.batch.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작업 큐 상태(종류별 작업 수, 우선순위 구간별 대기 시간, 처리량)를 모아 actuator 게이지와 /api/queue/stats 로 보여줍니다.
+ * Prometheus 수집과 웹의 예상 대기 시간 조회가 Redis 를 매번 두드리지 않도록 스냅샷을 잠시 캐시합니다.
+ * 우선순위 구간은 꺼내는 순서를 정하는 유효 우선순위(우선순위 + 대기 시간 / aging) 기준입니다:
+ * web(웹 요청, 500 이상), high(상위 티어 수집, 80 이상), normal. 오래 기다린 작업은 위 구간으로 올라갑니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QueueStatsService {
+
+    private static final List<String> BANDS = List.of("web", "high", "normal");
+    private static final List<double[]> BAND_BOUNDS = List.of(
+            new double[]{500, Double.POSITIVE_INFINITY},
+            new double[]{80, 500},
+            new double[]{Double.NEGATIVE_INFINITY, 80});
+
+    private final RedisQueueService redisQueueService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.queue.stats-cache-ms:10000}")
+    private long cacheMillis;
+
+    // 처리량은 최근 N 분 동안 ack 된 수의 분당 평균입니다.
+    @Value("${batch.queue.throughput-window-min:5}")
+    private int throughputWindowMinutes;
+
+    private volatile QueueStats cached;
+
+    @PostConstruct
+    void registerGauges() {
+        for (String type : redisQueueService.laneTypes()) {
+            Gauge.builder("tft.queue.depth", this, s -> s.snapshot().lanes().get(type).depth())
+                    .tag("type", type)
+                    .register(meterRegistry);
+            Gauge.builder("tft.queue.completed.rate", this, s -> s.snapshot().lanes().get(type).completedPerMinute())
+                    .tag("type", type)
+                    .baseUnit("tasks/min")
+                    .register(meterRegistry);
+            for (String band : BANDS) {
+                Gauge.builder("tft.queue.band.depth", this, s -> s.snapshot().lanes().get(type).bands().get(band).count())
+                        .tags("type", type, "band", band)
+                        .register(meterRegistry);
+                Gauge.builder("tft.queue.oldest.age", this, s -> s.snapshot().lanes().get(type).bands().get(band).oldestAgeSeconds())
+                        .tags("type", type, "band", band)
+                        .baseUnit("seconds")
+                        .register(meterRegistry);
+            }
+        }
+        Gauge.builder("tft.queue.delayed", this, s -> s.snapshot().delayed()).register(meterRegistry);
+        Gauge.builder("tft.queue.inflight", this, s -> s.snapshot().inflight()).register(meterRegistry);
+        Gauge.builder("tft.queue.dead", this, s -> s.snapshot().dead()).register(meterRegistry);
+        Gauge.builder("tft.queue.consumers", this, s -> s.snapshot().liveConsumers()).register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 스냅샷을 돌려주고, 오래됐으면 새로 셉니다. Redis 오류 시에는 이전 스냅샷을 그대로 씁니다.
+     */
+    public QueueStats snapshot() {
+        QueueStats current = cached;
+        long now = System.currentTimeMillis();
+        if (current != null && now - current.generatedAt() < cacheMillis) {
+            return current;
+        }
+        synchronized (this) {
+            if (cached != null && now - cached.generatedAt() < cacheMillis) {
+                return cached;
+            }
+            try {
+                cached = collect(now);
+            } catch (Exception e) {
+                log.warn("Failed to collect queue stats: {}", e.getMessage());
+                if (cached == null) {
+                    cached = empty(now);
+                }
+            }
+            return cached;
+        }
+    }
+
+    private QueueStats collect(long now) {
+        Map<String, long[]> raw = redisQueueService.laneStats(BAND_BOUNDS);
+        Map<String, Long> acked = redisQueueService.ackedInLastMinutes(throughputWindowMinutes);
+
+        Map<String, LaneStats> lanes = new LinkedHashMap<>();
+        for (String type : redisQueueService.laneTypes()) {
+            long[] lane = raw.getOrDefault(type, new long[1 + BANDS.size() * 2]);
+            Map<String, BandStats> bands = new LinkedHashMap<>();
+            for (int b = 0; b < BANDS.size(); b++) {
+                bands.put(BANDS.get(b), new BandStats(lane[1 + b * 2], lane[2 + b * 2]));
+            }
+            double rate = (double) acked.getOrDefault(type, 0L) / throughputWindowMinutes;
+            lanes.put(type, new LaneStats(lane[0], bands, rate));
+        }
+        return new QueueStats(now, lanes,
+                redisQueueService.delayedCount(),
+                redisQueueService.inflightCount(),
+                redisQueueService.deadLetterCount(),
+                redisQueueService.liveConsumers().size());
+    }
+
+    private QueueStats empty(long now) {
+        Map<String, LaneStats> lanes = new LinkedHashMap<>();
+        for (String type : redisQueueService.laneTypes()) {
+            Map<String, BandStats> bands = new LinkedHashMap<>();
+            BANDS.forEach(band -> bands.put(band, new BandStats(0, -1)));
+            lanes.put(type, new LaneStats(0, bands, 0));
+        }
+        return new QueueStats(now, lanes, 0, 0, 0, 0);
+    }
+
+    public record QueueStats(long generatedAt, Map<String, LaneStats> lanes,
+                             long delayed, long inflight, long dead, int liveConsumers) {
+    }
+
+    /**
+     * @param completedPerMinute 최근 처리량 (클러스터 전체, 분당 ack 수)
+     */
+    public record LaneStats(long depth, Map<String, BandStats> bands, double completedPerMinute) {
+    }
+
+    /**
+     * @param oldestAgeSeconds 구간에서 가장 오래 기다린 작업의 대기 시간(초), 비어 있으면 -1
+     */
+    public record BandStats(long count, long oldestAgeSeconds) {
+    }
+}
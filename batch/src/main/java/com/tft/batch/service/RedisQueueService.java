@@ -1,40 +1,962 @@
 package com.tft.batch.service;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Redis ZSET 기반 작업 큐입니다.
+ * 작업 종류(SUMMONER, MATCH, ...)마다 ready 레인(tft:queue:ready:{TYPE})을 따로 두고,
+ * 꺼낼 때는 batch.queue.lane-weights 가중치로 레인을 골라 한 종류가 몰려도 다른 종류가 굶지 않게 합니다.
+ * 꺼낸 작업은 바로 삭제하지 않고 in-flight ZSET(score = 임대 만료 시각)으로 옮겨 두며,
+ * 처리가 끝나면 {@link #ack(QueueTask)} 로 지우고, 처리 중 컨테이너가 죽으면 만료된 임대를 ready 레인으로 되돌립니다.
+ * 여러 배치 노드가 같은 큐를 소비할 수 있도록 노드(consumer)마다 임대 목록, 하트비트, 처리 통계를 따로 둡니다.
+ * 하트비트가 끊긴 노드의 임대는 임대 시간을 기다리지 않고 바로 회수합니다.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RedisQueueService {
-    
+
     private final StringRedisTemplate redisTemplate;
-    private static final String QUEUE_KEY = "tft:queue:ready";
+    private final MeterRegistry meterRegistry;
+    private static final String LANE_PREFIX = "tft:queue:ready:";
+    // retryLater 반환값: dead-letter 로 옮김 / 임대를 잃어 아무것도 하지 않음
+    public static final long DEAD_LETTERED = -1;
+    public static final long LEASE_LOST = -2;
+    // 작업별 "기본 우선순위|최초 등록 시각(epoch 초)". 작업이 ack 되거나 dead-letter 로 갈 때까지 유지됩니다.
+    private static final String META_KEY = "tft:queue:meta";
+    // 지연 작업: score = 다시 실행 가능해지는 시각(epoch ms)
+    private static final String DELAYED_KEY = "tft:queue:delayed";
+    // 처리 중 작업: score = 임대 만료 시각(epoch ms)
+    private static final String INFLIGHT_KEY = "tft:queue:inflight";
+    // 실패한 작업의 시도 횟수 (ack 되거나 dead-letter 로 가면 지웁니다)
+    private static final String ATTEMPTS_KEY = "tft:queue:attempts";
+    // 재시도 한도를 넘긴 작업: score = 마지막 실패 시각(epoch ms), 실패 사유는 별도 Hash 에 보관
+    private static final String DEAD_KEY = "tft:queue:dead";
+    private static final String DEAD_REASON_KEY = "tft:queue:dead:reason";
+    // dead-letter 로 갈 때 meta 에서 떼어 둔 우선순위 (다시 넣을 때 meta 를 새로 만들고 지웁니다)
+    private static final String DEAD_PRIORITY_KEY = "tft:queue:dead:priority";
+    // replayDeadLetters 가 dead-letter 를 한 번에 읽는 수 (스크립트 한 번이 Redis 를 오래 잡지 않도록)
+    private static final int REPLAY_PAGE = 500;
+    private static final int MAX_REASON_LENGTH = 300;
+    // 소비 노드별 마지막 하트비트 시각(epoch ms)
+    private static final String CONSUMERS_KEY = "tft:queue:consumers";
+    // tft:queue:pending:{consumer} = 노드가 임대 중인 작업 -> 임대 만료 시각
+    private static final String PENDING_PREFIX = "tft:queue:pending:";
+    // tft:queue:consumer:{consumer}:stats = leased / acked / deferred / failed / dead 횟수
+    private static final String STATS_PREFIX = "tft:queue:consumer:";
+    private static final long STATS_TTL_SECONDS = 7 * 24 * 3600;
+    // tft:queue:acked:{epoch 분} = 종류별 그 1분 동안 ack 된 작업 수 (클러스터 전체 처리량 계산용, 1시간 보관)
+    private static final String ACKED_PREFIX = "tft:queue:acked:";
+    // ready 레인에 작업이 들어왔음을 대기 중인 워커에게 알리는 리스트 (BLPOP)
+    private static final String SIGNAL_KEY = "tft:queue:signal";
+    private static final int MAX_SIGNALS = 64;
+    // pushTasks 가 스크립트 한 번에 보내는 작업 수
+    private static final int PUSH_BATCH = 500;
+
+    // 레인 도입 전의 단일 ready 큐와 우선순위 Hash (기동 시 한 번 옮깁니다)
+    private static final String LEGACY_QUEUE_KEY = "tft:queue:ready";
+    private static final List<String> LEGACY_PRIORITY_KEYS = List.of("tft:queue:delayed:priority", "tft:queue:inflight:priority");
+
+    // 한 레인에 작업들을 추가하고 대기 중인 워커를 깨웁니다.
+    // 이미 있는 작업은 우선순위는 큰 값, 등록 시각은 이른 값으로 합치므로 다시 넣어도 순서가 밀리지 않습니다.
+    // 레인 score = 우선순위 - 등록 시각 / aging 이므로 오래 기다린 작업일수록 앞으로 옵니다.
+    // KEYS: lane, meta, signal / ARGV: 현재(초), aging, signal 상한, (priority, member) * n
+    private static final RedisScript<Long> PUSH_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local aging = tonumber(ARGV[2])
+            local n = 0
+            for i = 4, #ARGV, 2 do
+                local member = ARGV[i + 1]
+                local priority = tonumber(ARGV[i])
+                local enqueuedAt = now
+                local meta = redis.call('HGET', KEYS[2], member)
+                if meta then
+                    local sep = string.find(meta, '|', 1, true)
+                    priority = math.max(priority, tonumber(string.sub(meta, 1, sep - 1)))
+                    enqueuedAt = math.min(enqueuedAt, tonumber(string.sub(meta, sep + 1)))
+                end
+                redis.call('HSET', KEYS[2], member, priority .. '|' .. enqueuedAt)
+                redis.call('ZADD', KEYS[1], priority - enqueuedAt / aging, member)
+                n = n + 1
+            end
+            for i = 1, math.min(n, tonumber(ARGV[3])) do
+                redis.call('LPUSH', KEYS[3], '1')
+            end
+            redis.call('LTRIM', KEYS[3], 0, tonumber(ARGV[3]) - 1)
+            return n
+            """, Long.class);
+
+    // 슬롯마다 정해진 레인에서 하나씩 꺼내 in-flight 로 옮깁니다. 그 레인이 비었으면 다음 레인에서 꺼냅니다.
+    // KEYS: inflight, meta, pending, stats, lane... / ARGV: 임대 만료 시각, 슬롯별 레인 번호(1부터)...
+    // 반환: {member, priority, member, priority, ...}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_SCRIPT = RedisScript.of("""
+            local lanes = #KEYS - 4
+            local result = {}
+            for s = 2, #ARGV do
+                local preferred = tonumber(ARGV[s])
+                local popped = {}
+                for k = 0, lanes - 1 do
+                    popped = redis.call('ZPOPMAX', KEYS[5 + (preferred - 1 + k) % lanes])
+                    if #popped > 0 then
+                        break
+                    end
+                end
+                if #popped == 0 then
+                    break
+                end
+                redis.call('ZADD', KEYS[1], ARGV[1], popped[1])
+                redis.call('HSET', KEYS[3], popped[1], ARGV[1])
+                local meta = redis.call('HGET', KEYS[2], popped[1])
+                local priority = '0'
+                if meta then
+                    priority = string.sub(meta, 1, string.find(meta, '|', 1, true) - 1)
+                end
+                table.insert(result, popped[1])
+                table.insert(result, priority)
+            end
+            if #result > 0 then
+                redis.call('HINCRBY', KEYS[4], 'leased', #result / 2)
+            end
+            return result
+            """, List.class);
+
+    // 작업들을 ready 레인 대신 지연 큐에 넣습니다. (레인이 넘칠 때 낮은 우선순위 작업을 뒤로 미루는 용도)
+    // meta 는 PUSH_SCRIPT 와 같은 방식으로 합칩니다.
+    // KEYS: delayed, meta / ARGV: 현재(초), (priority, member, 실행 시각 ms) * n
+    private static final RedisScript<Long> PUSH_DELAYED_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local n = 0
+            for i = 2, #ARGV, 3 do
+                local member = ARGV[i + 1]
+                local priority = tonumber(ARGV[i])
+                local enqueuedAt = now
+                local meta = redis.call('HGET', KEYS[2], member)
+                if meta then
+                    local sep = string.find(meta, '|', 1, true)
+                    priority = math.max(priority, tonumber(string.sub(meta, 1, sep - 1)))
+                    enqueuedAt = math.min(enqueuedAt, tonumber(string.sub(meta, sep + 1)))
+                end
+                redis.call('HSET', KEYS[2], member, priority .. '|' .. enqueuedAt)
+                redis.call('ZADD', KEYS[1], ARGV[i + 2], member)
+                n = n + 1
+            end
+            return n
+            """, Long.class);
+
+    // 임대가 그대로일 때만(다른 워커가 다시 가져가지 않았을 때만) in-flight, meta, 시도 횟수에서 지우고 처리량에 셉니다.
+    // 임대를 잃은 워커의 ack 는 자기 pending 항목만 지웁니다. (같은 작업을 진짜 임대한 워커가 ack 할 때 한 번만 셈)
+    // KEYS: inflight, meta, attempts, pending, stats, acked 버킷 / ARGV: member, 임대 만료 시각, 작업 종류
+    private static final RedisScript<Long> ACK_SCRIPT = RedisScript.of("""
+            redis.call('HDEL', KEYS[4], ARGV[1])
+            local deadline = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not deadline or tonumber(deadline) ~= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            redis.call('HDEL', KEYS[3], ARGV[1])
+            redis.call('HINCRBY', KEYS[5], 'acked', 1)
+            redis.call('HINCRBY', KEYS[6], ARGV[3], 1)
+            redis.call('EXPIRE', KEYS[6], 3600)
+            return 1
+            """, Long.class);
+
+    // 임대가 그대로일 때만 시도 횟수를 올리고, 한도 안이면 지수 백오프(기본 지연 * 2^(n-1), 상한, 50~100% jitter) 뒤로 미루고
+    // 한도에 닿으면 dead-letter 로 옮깁니다. 임대를 잃었으면(회수되어 다른 워커가 처리 중일 수 있음) 자기 pending 항목 외에는 건드리지 않습니다.
+    // dead-letter 로 갈 때 meta 는 지우고 우선순위만 dead priority 에 남겨, 끝나지 않을 작업의 meta 가 쌓이지 않게 합니다.
+    // KEYS: attempts, delayed, inflight, dead, dead reason, pending, stats, meta, dead priority
+    // ARGV: member, 임대 만료 시각, 현재(ms), 기본 지연(ms), 최대 지연(ms), 최대 시도 횟수, jitter(0~1), 사유
+    // 반환: 시도 횟수, dead-letter 로 갔으면 -1, 임대를 잃었으면 -2
+    private static final RedisScript<Long> FAIL_SCRIPT = RedisScript.of("""
+            redis.call('HDEL', KEYS[6], ARGV[1])
+            local deadline = redis.call('ZSCORE', KEYS[3], ARGV[1])
+            if not deadline or tonumber(deadline) ~= tonumber(ARGV[2]) then
+                return -2
+            end
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            local attempts = redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            if attempts >= tonumber(ARGV[6]) then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                local meta = redis.call('HGET', KEYS[8], ARGV[1])
+                if meta then
+                    redis.call('HSET', KEYS[9], ARGV[1], string.sub(meta, 1, string.find(meta, '|', 1, true) - 1))
+                    redis.call('HDEL', KEYS[8], ARGV[1])
+                end
+                redis.call('ZADD', KEYS[4], ARGV[3], ARGV[1])
+                redis.call('HSET', KEYS[5], ARGV[1], ARGV[8])
+                redis.call('HINCRBY', KEYS[7], 'dead', 1)
+                return -1
+            end
+            local delay = math.min(tonumber(ARGV[4]) * 2 ^ (attempts - 1), tonumber(ARGV[5]))
+            delay = delay * (0.5 + tonumber(ARGV[7]) / 2)
+            redis.call('ZADD', KEYS[2], tonumber(ARGV[3]) + math.floor(delay), ARGV[1])
+            redis.call('HINCRBY', KEYS[7], 'failed', 1)
+            return attempts
+            """, Long.class);
+
+    // 주어진 dead-letter 들을 지연 큐로 옮겨 바로 다시 실행되게 합니다. (그 사이 다른 요청이 옮긴 작업은 건너뜀)
+    // meta 는 dead-letter 로 갈 때 남겨 둔 우선순위와 지금 시각으로 다시 만듭니다. (그 사이 다시 등록된 작업이면 그 meta 를 유지)
+    // KEYS: dead, dead reason, delayed, meta, dead priority / ARGV: 현재(ms), 현재(초), member...
+    private static final RedisScript<Long> REPLAY_SCRIPT = RedisScript.of("""
+            local moved = 0
+            for i = 3, #ARGV do
+                local member = ARGV[i]
+                if redis.call('ZREM', KEYS[1], member) == 1 then
+                    local priority = redis.call('HGET', KEYS[5], member) or '0'
+                    redis.call('HDEL', KEYS[2], member)
+                    redis.call('HDEL', KEYS[5], member)
+                    redis.call('HSETNX', KEYS[4], member, priority .. '|' .. ARGV[2])
+                    redis.call('ZADD', KEYS[3], ARGV[1], member)
+                    moved = moved + 1
+                end
+            end
+            return moved
+            """, Long.class);
+
+    // 임대가 그대로일 때만 in-flight 에서 지연 큐로 옮깁니다. 임대를 잃었으면 0 (지연 큐에 사본을 만들지 않음)
+    // KEYS: delayed, inflight, pending, stats / ARGV: member, 실행 시각(ms), 임대 만료 시각
+    private static final RedisScript<Long> DEFER_SCRIPT = RedisScript.of("""
+            redis.call('HDEL', KEYS[3], ARGV[1])
+            local deadline = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if not deadline or tonumber(deadline) ~= tonumber(ARGV[3]) then
+                return 0
+            end
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HINCRBY', KEYS[4], 'deferred', 1)
+            return 1
+            """, Long.class);
+
+    // 레인마다 전체 작업 수와, 유효 우선순위(우선순위 + aging) 구간별 작업 수 / 구간 맨 앞 작업의 등록 시각을 셉니다.
+    // 같은 우선순위끼리는 오래 기다린 작업이 앞에 있으므로 구간 맨 앞 작업이 그 구간에서 가장 오래된 작업입니다.
+    // KEYS: meta, lane... / ARGV: 현재(초), aging, (구간 하한, 구간 상한) * n  ('-inf' / '+inf' 가능)
+    // 반환: 레인마다 {작업 수, (구간 작업 수, 맨 앞 작업 등록 시각 또는 -1) * n}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LANE_STATS_SCRIPT = RedisScript.of("""
+            local shift = tonumber(ARGV[1]) / tonumber(ARGV[2])
+            local result = {}
+            for l = 2, #KEYS do
+                table.insert(result, redis.call('ZCARD', KEYS[l]))
+                for b = 3, #ARGV, 2 do
+                    local min = ARGV[b] == '-inf' and '-inf' or tostring(tonumber(ARGV[b]) - shift)
+                    local max = ARGV[b + 1] == '+inf' and '+inf' or '(' .. tostring(tonumber(ARGV[b + 1]) - shift)
+                    table.insert(result, redis.call('ZCOUNT', KEYS[l], min, max))
+                    local head = redis.call('ZREVRANGEBYSCORE', KEYS[l], max, min, 'LIMIT', 0, 1)
+                    local enqueuedAt = -1
+                    if #head > 0 then
+                        local meta = redis.call('HGET', KEYS[1], head[1])
+                        if meta then
+                            enqueuedAt = tonumber(string.sub(meta, string.find(meta, '|', 1, true) + 1))
+                        end
+                    end
+                    table.insert(result, enqueuedAt)
+                end
+            end
+            return result
+            """, List.class);
+
+    // 하트비트가 끊긴 노드의 임대 중 아직 그 노드 것인(임대 만료 시각이 그대로인) 작업을 즉시 만료시켜
+    // 다음 회수 때 ready 레인으로 돌아가게 하고, 노드를 목록에서 지웁니다.
+    // KEYS: consumers, pending, inflight, stats / ARGV: consumer, stats TTL(초)
+    private static final RedisScript<Long> CLAIM_SCRIPT = RedisScript.of("""
+            local pending = redis.call('HGETALL', KEYS[2])
+            local claimed = 0
+            for i = 1, #pending, 2 do
+                local deadline = redis.call('ZSCORE', KEYS[3], pending[i])
+                if deadline and tonumber(deadline) == tonumber(pending[i + 1]) then
+                    redis.call('ZADD', KEYS[3], 0, pending[i])
+                    claimed = claimed + 1
+                end
+            end
+            redis.call('DEL', KEYS[2])
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[4], ARGV[2])
+            return claimed
+            """, Long.class);
+
+    // score 가 기준 시각을 지난 작업(만기된 지연 작업, 만료된 임대)을 종류에 맞는 ready 레인으로 옮깁니다.
+    // 우선순위와 등록 시각은 meta 값을 그대로 쓰므로, 미뤄져 있던 동안의 aging 도 유지됩니다.
+    // KEYS: source, meta, signal, lane... / ARGV: 현재(ms), limit, signal 상한, aging, 현재(초), 레인별 작업 종류...
+    private static final RedisScript<Long> PROMOTE_SCRIPT = RedisScript.of("""
+            local laneByType = {}
+            for i = 6, #ARGV do
+                laneByType[ARGV[i]] = KEYS[i - 2]
+            end
+            local aging = tonumber(ARGV[4])
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, member in ipairs(due) do
+                redis.call('ZREM', KEYS[1], member)
+                local sep = string.find(member, ':', 1, true)
+                local lane = sep and laneByType[string.sub(member, 1, sep - 1)]
+                if lane then
+                    local priority = 0
+                    local enqueuedAt = tonumber(ARGV[5])
+                    local meta = redis.call('HGET', KEYS[2], member)
+                    if meta then
+                        local metaSep = string.find(meta, '|', 1, true)
+                        priority = tonumber(string.sub(meta, 1, metaSep - 1))
+                        enqueuedAt = tonumber(string.sub(meta, metaSep + 1))
+                    else
+                        redis.call('HSET', KEYS[2], member, priority .. '|' .. enqueuedAt)
+                    end
+                    redis.call('ZADD', lane, priority - enqueuedAt / aging, member)
+                    redis.call('LPUSH', KEYS[3], '1')
+                else
+                    redis.call('HDEL', KEYS[2], member)
+                end
+            end
+            redis.call('LTRIM', KEYS[3], 0, tonumber(ARGV[3]) - 1)
+            return #due
+            """, Long.class);
+
+    @Value("${batch.queue.lease-ms:300000}")
+    private long leaseMillis;
+
+    // 우선순위 1점만큼 앞으로 오는 데 필요한 대기 시간(초). 웹 모듈과 같은 값을 써야 합니다.
+    @Value("${queue.aging-seconds-per-point:600}")
+    private double agingSecondsPerPoint;
+
+    // 레인별 가중치 (TYPE:weight,...). 적힌 순서가 레인 순서입니다.
+    @Value("${batch.queue.lane-weights:SUMMONER:3,MATCH:6,SUMMONER_ID:1,ICON:1,BACKFILL:1}")
+    private String laneWeightsConfig;
+
+    // 이 노드의 consumer 이름. 비워 두면 호스트 이름 + 임의 접미사를 씁니다.
+    @Value("${batch.node-id:}")
+    private String configuredNodeId;
+
+    // 이 시간 동안 하트비트가 없으면 노드가 죽은 것으로 보고 임대를 회수합니다.
+    @Value("${batch.queue.consumer-timeout-ms:30000}")
+    private long consumerTimeoutMillis;
+
+    // 레인별 high/low watermark (TYPE:high/low,...). high 이상이면 포화, low 이하로 내려와야 풀립니다.
+    @Value("${batch.queue.watermarks:SUMMONER:50000/25000,MATCH:200000/100000,SUMMONER_ID:50000/25000,ICON:50000/25000,BACKFILL:10000/5000}")
+    private String watermarksConfig;
+
+    // 이 우선순위 이상(웹에서 직접 요청한 유저 등)은 레인이 포화여도 바로 넣습니다.
+    @Value("${batch.queue.admission-bypass-priority:500}")
+    private double admissionBypassPriority;
+
+    // 포화된 레인 대신 지연 큐로 보낸 작업이 돌아오기까지의 기본 지연. 한꺼번에 돌아오지 않도록 최대 두 배까지 흩뿌립니다.
+    @Value("${batch.queue.backpressure-delay-ms:600000}")
+    private long backpressureDelayMillis;
+
+    private final Map<String, long[]> watermarks = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> saturated = new ConcurrentHashMap<>();
+    private volatile long saturationCheckedAt;
+
+    private String consumerId;
+    private String pendingKey;
+    private String statsKey;
+    private List<String> laneTypes;
+    private List<String> laneKeys;
+    private int[] laneWeights;
+    private int[] currentWeights;
+
+    @PostConstruct
+    void init() {
+        consumerId = configuredNodeId.isBlank()
+                ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : configuredNodeId;
+        pendingKey = PENDING_PREFIX + consumerId;
+        statsKey = STATS_PREFIX + consumerId + ":stats";
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : laneWeightsConfig.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(pair[0].trim(), pair.length > 1 ? Math.max(1, Integer.parseInt(pair[1].trim())) : 1);
+        }
+        laneTypes = List.copyOf(weights.keySet());
+        laneKeys = laneTypes.stream().map(RedisQueueService::laneKey).toList();
+        laneWeights = weights.values().stream().mapToInt(Integer::intValue).toArray();
+        currentWeights = new int[laneWeights.length];
+
+        for (String part : watermarksConfig.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) continue;
+            String[] marks = pair[1].split("/");
+            long high = Long.parseLong(marks[0].trim());
+            long low = marks.length > 1 ? Long.parseLong(marks[1].trim()) : high / 2;
+            watermarks.put(pair[0].trim(), new long[] {high, low});
+        }
+    }
+
+    public static String laneKey(String type) {
+        return LANE_PREFIX + type;
+    }
+
+    public List<String> laneTypes() {
+        return laneTypes;
+    }
+
+    public String consumerId() {
+        return consumerId;
+    }
 
     /**
-     * 작업을 큐에 밀어 넣습니다.
+     * 작업을 큐에 밀어 넣습니다. 이미 있는 작업의 우선순위는 낮아지지 않습니다.
      */
     public void pushTask(String id, String type, double priority) {
-        String value = type + ":" + id;
-        redisTemplate.opsForZSet().add(QUEUE_KEY, value, priority);
+        pushTasks(List.of(new QueueTask(id, type, priority)));
+    }
+
+    public long laneSize(String type) {
+        Long size = redisTemplate.opsForZSet().zCard(laneKey(type));
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 레인이 high watermark 를 넘어 low watermark 아래로 내려오기 전까지 true 입니다. (1초마다 다시 확인)
+     */
+    public boolean isSaturated(String type) {
+        long now = System.currentTimeMillis();
+        if (now - saturationCheckedAt >= 1000) {
+            saturationCheckedAt = now;
+            watermarks.forEach((lane, marks) -> {
+                long size = laneSize(lane);
+                boolean was = saturated.getOrDefault(lane, false);
+                boolean is = was ? size > marks[1] : size >= marks[0];
+                if (is != was) {
+                    log.warn(is ? "Queue lane {} saturated ({} tasks); deferring low-priority work"
+                            : "Queue lane {} drained ({} tasks); admitting work again", lane, size);
+                }
+                saturated.put(lane, is);
+            });
+        }
+        return saturated.getOrDefault(type, false);
+    }
+
+    /**
+     * 이 우선순위의 작업이 포화된 레인이라도 바로 들어갈 수 있는지 (웹에서 직접 요청한 유저 등)
+     */
+    public boolean bypassesAdmission(double priority) {
+        return priority >= admissionBypassPriority;
     }
 
     /**
-     * 우선순위(score)가 가장 높은 작업을 꺼냅니다. (DB의 pickNext 역할)
+     * 생산자(고티어 스윕 등)용 push 입니다. 포화된 레인에 들어갈 낮은 우선순위 작업은 ready 레인 대신
+     * 지연 큐로 보내 backpressure-delay 이후에 흩어져 돌아오게 합니다.
+     * @return 미룬 작업 수
+     */
+    public int pushTasksWithAdmission(Collection<QueueTask> tasks) {
+        List<QueueTask> admitted = new ArrayList<>(tasks.size());
+        List<QueueTask> deferred = new ArrayList<>();
+        for (QueueTask task : tasks) {
+            if (!bypassesAdmission(task.priority) && isSaturated(task.type)) {
+                deferred.add(task);
+            } else {
+                admitted.add(task);
+            }
+        }
+        pushTasks(admitted);
+        if (!deferred.isEmpty()) {
+            pushDelayed(deferred);
+        }
+        return deferred.size();
+    }
+
+    private void pushDelayed(List<QueueTask> tasks) {
+        long now = System.currentTimeMillis();
+        for (int from = 0; from < tasks.size(); from += PUSH_BATCH) {
+            List<QueueTask> chunk = tasks.subList(from, Math.min(from + PUSH_BATCH, tasks.size()));
+            List<String> args = new ArrayList<>(1 + chunk.size() * 3);
+            args.add(String.valueOf(now / 1000));
+            for (QueueTask task : chunk) {
+                args.add(String.valueOf(task.priority));
+                args.add(task.type + ":" + task.id);
+                args.add(String.valueOf(now + backpressureDelayMillis
+                        + ThreadLocalRandom.current().nextLong(backpressureDelayMillis + 1)));
+            }
+            redisTemplate.execute(PUSH_DELAYED_SCRIPT, List.of(DELAYED_KEY, META_KEY), args.toArray());
+        }
+    }
+
+    /**
+     * 여러 작업을 한 번에 큐에 넣습니다. 레인별로 PUSH_BATCH 개씩 나눠 스크립트 한 번으로 보냅니다.
+     */
+    public void pushTasks(Collection<QueueTask> tasks) {
+        Map<String, List<QueueTask>> byType = new LinkedHashMap<>();
+        for (QueueTask task : tasks) {
+            byType.computeIfAbsent(task.type, t -> new ArrayList<>()).add(task);
+        }
+        String now = String.valueOf(System.currentTimeMillis() / 1000);
+        byType.forEach((type, laneTasks) -> {
+            List<String> keys = List.of(laneKey(type), META_KEY, SIGNAL_KEY);
+            for (int from = 0; from < laneTasks.size(); from += PUSH_BATCH) {
+                List<QueueTask> chunk = laneTasks.subList(from, Math.min(from + PUSH_BATCH, laneTasks.size()));
+                List<String> args = new ArrayList<>(3 + chunk.size() * 2);
+                args.add(now);
+                args.add(String.valueOf(agingSecondsPerPoint));
+                args.add(String.valueOf(MAX_SIGNALS));
+                for (QueueTask task : chunk) {
+                    args.add(String.valueOf(task.priority));
+                    args.add(task.type + ":" + task.id);
+                }
+                redisTemplate.execute(PUSH_SCRIPT, keys, args.toArray());
+            }
+        });
+    }
+
+    /**
+     * 우선순위(score)가 가장 높은 작업을 임대해 꺼냅니다. (DB의 pickNext 역할)
+     * 처리가 끝나면 {@link #ack(QueueTask)} 를 호출해야 하며, 임대 시간 안에 ack 되지 않으면 다시 ready 레인으로 돌아갑니다.
      */
     public QueueTask popTask() {
-        // 가장 큰 점수(우선순위)를 가진 요소를 하나 삭제하며 반환합니다.
-        ZSetOperations.TypedTuple<String> tuple = redisTemplate.opsForZSet().popMax(QUEUE_KEY);
-        if (tuple == null || tuple.getValue() == null) {
-            return null;
+        List<QueueTask> tasks = popTasks(1);
+        return tasks.isEmpty() ? null : tasks.get(0);
+    }
+
+    /**
+     * 큐가 비어 있으면 작업이 들어왔다는 신호를 최대 timeoutMillis 동안 기다린 뒤 다시 꺼냅니다. (BLPOP)
+     * 대기 중인 워커는 새 작업이 push 되는 즉시 깨어납니다.
+     */
+    public QueueTask popTask(long timeoutMillis) {
+        List<QueueTask> tasks = popTasks(1, timeoutMillis);
+        return tasks.isEmpty() ? null : tasks.get(0);
+    }
+
+    /**
+     * 가중치에 따라 레인을 골라 작업을 최대 count 개까지 한 번에 임대해 꺼냅니다. (스크립트 1회, 원자적)
+     */
+    public List<QueueTask> popTasks(int count) {
+        long deadline = System.currentTimeMillis() + leaseMillis;
+        List<String> keys = new ArrayList<>(4 + laneKeys.size());
+        keys.add(INFLIGHT_KEY);
+        keys.add(META_KEY);
+        keys.add(pendingKey);
+        keys.add(statsKey);
+        keys.addAll(laneKeys);
+        List<String> args = new ArrayList<>(1 + count);
+        args.add(String.valueOf(deadline));
+        for (int i = 0; i < count; i++) {
+            args.add(String.valueOf(nextLane() + 1));
+        }
+
+        List<?> popped = redisTemplate.execute(LEASE_SCRIPT, keys, args.toArray());
+        if (popped == null || popped.isEmpty()) {
+            return List.of();
+        }
+        List<QueueTask> tasks = new ArrayList<>(popped.size() / 2);
+        for (int i = 0; i + 1 < popped.size(); i += 2) {
+            String value = (String) popped.get(i);
+            QueueTask task = toTask(value, Double.parseDouble((String) popped.get(i + 1)));
+            if (task == null) {
+                // 형식이 잘못된 항목은 되돌아오지 않도록 바로 정리합니다.
+                redisTemplate.opsForZSet().remove(INFLIGHT_KEY, value);
+                redisTemplate.opsForHash().delete(META_KEY, value);
+                redisTemplate.opsForHash().delete(pendingKey, value);
+                continue;
+            }
+            task.leaseDeadline = deadline;
+            tasks.add(task);
+        }
+        count("leased", tasks.size());
+        return tasks;
+    }
+
+    /**
+     * 큐가 비어 있으면 최대 timeoutMillis 동안 신호를 기다린 뒤 다시 꺼냅니다.
+     */
+    public List<QueueTask> popTasks(int count, long timeoutMillis) {
+        List<QueueTask> tasks = popTasks(count);
+        if (!tasks.isEmpty()) return tasks;
+        redisTemplate.opsForList().leftPop(SIGNAL_KEY, timeoutMillis, TimeUnit.MILLISECONDS);
+        return popTasks(count);
+    }
+
+    /**
+     * 처리가 끝난(성공했거나 다시 시도하지 않을) 작업의 임대를 지웁니다. O(log n)
+     * 임대가 회수되어 다른 워커가 다시 가져간 작업이면 아무것도 지우지 않고 처리량에도 세지 않습니다.
+     */
+    public void ack(QueueTask task) {
+        String ackedKey = ACKED_PREFIX + System.currentTimeMillis() / 60_000;
+        Long acked = redisTemplate.execute(ACK_SCRIPT, List.of(INFLIGHT_KEY, META_KEY, ATTEMPTS_KEY, pendingKey, statsKey, ackedKey),
+                task.type + ":" + task.id, String.valueOf(task.leaseDeadline), task.type);
+        if (acked != null && acked == 1) {
+            count("acked", 1);
+        } else {
+            leaseLost(task, "ack");
+        }
+    }
+
+    /**
+     * 작업을 지연 큐에 넣어 dueAtMillis 이후에 다시 ready 레인으로 돌아오게 합니다.
+     * 429 등으로 당장 처리할 수 없는 작업을 워커를 재우지 않고 미뤄둘 때 사용합니다. (임대도 함께 정리됩니다)
+     */
+    public void deferTask(QueueTask task, long dueAtMillis) {
+        Long deferred = redisTemplate.execute(DEFER_SCRIPT, List.of(DELAYED_KEY, INFLIGHT_KEY, pendingKey, statsKey),
+                task.type + ":" + task.id, String.valueOf(dueAtMillis), String.valueOf(task.leaseDeadline));
+        if (deferred != null && deferred == 1) {
+            count("deferred", 1);
+        } else {
+            leaseLost(task, "defer");
+        }
+    }
+
+    /**
+     * 레인이 포화되어 처리하지 않은 작업을 backpressure-delay 뒤로 미룹니다. (실패로 세지 않습니다)
+     */
+    public void deferForBackpressure(QueueTask task) {
+        deferTask(task, System.currentTimeMillis() + backpressureDelayMillis
+                + ThreadLocalRandom.current().nextLong(backpressureDelayMillis + 1));
+    }
+
+    /**
+     * 실패한 작업을 지수 백오프로 다시 시도하게 하고, maxAttempts 번째 실패면 dead-letter 로 옮깁니다.
+     * @return 이번이 몇 번째 실패인지, dead-letter 로 옮겼으면 {@link #DEAD_LETTERED},
+     *         임대를 잃어 아무것도 하지 않았으면 {@link #LEASE_LOST}
+     */
+    public long retryLater(QueueTask task, long baseDelayMillis, long maxDelayMillis, int maxAttempts, String reason) {
+        String trimmed = reason == null ? "" : reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+        Long attempts = redisTemplate.execute(FAIL_SCRIPT,
+                List.of(ATTEMPTS_KEY, DELAYED_KEY, INFLIGHT_KEY, DEAD_KEY, DEAD_REASON_KEY, pendingKey, statsKey,
+                        META_KEY, DEAD_PRIORITY_KEY),
+                task.type + ":" + task.id, String.valueOf(task.leaseDeadline), String.valueOf(System.currentTimeMillis()),
+                String.valueOf(baseDelayMillis), String.valueOf(maxDelayMillis), String.valueOf(maxAttempts),
+                String.valueOf(ThreadLocalRandom.current().nextDouble()), trimmed);
+        if (attempts != null && attempts == LEASE_LOST) {
+            leaseLost(task, "retry");
+            return LEASE_LOST;
         }
+        count(attempts != null && attempts == DEAD_LETTERED ? "dead" : "retried", 1);
+        return attempts != null ? attempts : 0;
+    }
+
+    // 임대 시간을 넘겨 회수된 작업: 이미 ready 레인으로 돌아갔거나 다른 워커가 처리 중이므로 결과를 반영하지 않습니다.
+    private void leaseLost(QueueTask task, String operation) {
+        log.warn("Lease lost for {}:{}; skipping {}", task.type, task.id, operation);
+        count("lease_lost", 1);
+    }
+
+    /**
+     * 재시도 없이 바로 dead-letter 로 옮깁니다. (다시 시도해도 결과가 같은 4xx 등)
+     */
+    public void deadLetter(QueueTask task, String reason) {
+        retryLater(task, 0, 0, 1, reason);
+    }
+
+    public long deadLetterCount() {
+        Long size = redisTemplate.opsForZSet().zCard(DEAD_KEY);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 최근에 실패한 순서로 dead-letter 를 조회합니다.
+     */
+    public List<DeadLetter> deadLetters(int offset, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeWithScores(DEAD_KEY, offset, offset + limit - 1L);
+        if (tuples == null || tuples.isEmpty()) return List.of();
+
+        List<Object> members = new ArrayList<>(tuples.size());
+        tuples.forEach(tuple -> members.add(tuple.getValue()));
+        List<Object> reasons = redisTemplate.opsForHash().multiGet(DEAD_REASON_KEY, members);
+
+        List<DeadLetter> letters = new ArrayList<>(tuples.size());
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            String[] parts = tuple.getValue().split(":", 2);
+            long failedAt = tuple.getScore() != null ? tuple.getScore().longValue() : 0;
+            letters.add(new DeadLetter(parts[0], parts.length > 1 ? parts[1] : "", failedAt, (String) reasons.get(i++)));
+        }
+        return letters;
+    }
+
+    /**
+     * 오래 실패한 순서로 dead-letter 를 최대 limit 개(type 이 있으면 그 종류만) 다시 큐에 넣습니다.
+     * dead-letter 는 REPLAY_PAGE 개씩 읽으므로 Redis 호출 한 번은 O(log n + page) 입니다.
+     * @return 다시 넣은 작업 수
+     */
+    public long replayDeadLetters(String type, int limit) {
+        String prefix = type == null || type.isBlank() ? "" : type + ":";
+        long replayed = 0;
+        long start = 0;
+        while (replayed < limit) {
+            Set<String> page = redisTemplate.opsForZSet().range(DEAD_KEY, start, start + REPLAY_PAGE - 1);
+            if (page == null || page.isEmpty()) break;
+
+            List<Object> args = new ArrayList<>();
+            args.add(String.valueOf(System.currentTimeMillis()));
+            args.add(String.valueOf(System.currentTimeMillis() / 1000));
+            int skipped = 0;
+            for (String member : page) {
+                if (!member.startsWith(prefix)) {
+                    skipped++;
+                } else if (args.size() - 2 < limit - replayed) {
+                    args.add(member);
+                }
+            }
+            if (args.size() > 2) {
+                Long moved = redisTemplate.execute(REPLAY_SCRIPT,
+                        List.of(DEAD_KEY, DEAD_REASON_KEY, DELAYED_KEY, META_KEY, DEAD_PRIORITY_KEY), args.toArray());
+                replayed += moved != null ? moved : 0;
+            }
+            if (page.size() < REPLAY_PAGE) break;
+            // 옮긴 작업은 빠졌으므로 건너뛴 다른 종류만큼만 앞으로 갑니다.
+            start += skipped;
+        }
+        return replayed;
+    }
+
+    /**
+     * 실행 시각이 지난 지연 작업을 최대 limit 개까지 ready 레인으로 옮깁니다.
+     * @return 옮긴 작업 수
+     */
+    public long promoteDueTasks(int limit) {
+        long moved = moveDue(DELAYED_KEY, limit);
+        count("promoted", moved);
+        return moved;
+    }
+
+    /**
+     * 임대 시간이 지나도록 ack 되지 않은 작업(처리 중 재시작 등)을 최대 limit 개까지 ready 레인으로 되돌립니다.
+     * @return 되돌린 작업 수
+     */
+    public long requeueExpiredLeases(int limit) {
+        long moved = moveDue(INFLIGHT_KEY, limit);
+        count("requeued", moved);
+        return moved;
+    }
+
+    /**
+     * 레인별 작업 수와 유효 우선순위 구간별 작업 수 / 가장 오래 기다린 시간을 한 번에 셉니다.
+     * @param bands 구간 경계 {하한, 상한} 목록 (하한 포함, 상한 미포함, 무한대는 ±Infinity)
+     * @return 종류 -> {작업 수, (구간 작업 수, 구간에서 가장 오래 기다린 시간(초) 또는 -1) * 구간 수}
+     */
+    public Map<String, long[]> laneStats(List<double[]> bands) {
+        long now = System.currentTimeMillis() / 1000;
+        List<String> keys = new ArrayList<>(1 + laneKeys.size());
+        keys.add(META_KEY);
+        keys.addAll(laneKeys);
+        List<String> args = new ArrayList<>(2 + bands.size() * 2);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(agingSecondsPerPoint));
+        for (double[] band : bands) {
+            args.add(Double.isInfinite(band[0]) ? "-inf" : String.valueOf(band[0]));
+            args.add(Double.isInfinite(band[1]) ? "+inf" : String.valueOf(band[1]));
+        }
+        List<?> raw = redisTemplate.execute(LANE_STATS_SCRIPT, keys, args.toArray());
+
+        Map<String, long[]> stats = new LinkedHashMap<>();
+        int stride = 1 + bands.size() * 2;
+        for (int l = 0; l < laneTypes.size(); l++) {
+            long[] lane = new long[stride];
+            for (int i = 0; i < stride; i++) {
+                lane[i] = raw != null && raw.size() > l * stride + i ? ((Number) raw.get(l * stride + i)).longValue() : 0;
+            }
+            for (int b = 0; b < bands.size(); b++) {
+                long enqueuedAt = lane[2 + b * 2];
+                lane[2 + b * 2] = enqueuedAt < 0 ? -1 : Math.max(0, now - enqueuedAt);
+            }
+            stats.put(laneTypes.get(l), lane);
+        }
+        return stats;
+    }
+
+    /**
+     * 최근 minutes 분 동안 클러스터 전체에서 ack 된 작업 수 (종류별)
+     */
+    public Map<String, Long> ackedInLastMinutes(int minutes) {
+        long currentMinute = System.currentTimeMillis() / 60_000;
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (long minute = currentMinute - minutes + 1; minute <= currentMinute; minute++) {
+            redisTemplate.opsForHash().entries(ACKED_PREFIX + minute)
+                    .forEach((type, value) -> totals.merge((String) type, Long.parseLong((String) value), Long::sum));
+        }
+        return totals;
+    }
 
-        String value = tuple.getValue();
+    public long delayedCount() {
+        Long size = redisTemplate.opsForZSet().zCard(DELAYED_KEY);
+        return size != null ? size : 0;
+    }
+
+    public long inflightCount() {
+        Long size = redisTemplate.opsForZSet().zCard(INFLIGHT_KEY);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 이 노드가 살아 있음을 알립니다. 워커 풀이 떠 있는 동안 주기적으로 호출합니다.
+     */
+    public void heartbeat() {
+        redisTemplate.opsForZSet().add(CONSUMERS_KEY, consumerId, System.currentTimeMillis());
+        redisTemplate.expire(statsKey, STATS_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 종료하는 노드의 임대를 바로 회수 대상으로 돌립니다. (임대 시간만큼 기다리지 않도록)
+     */
+    public long deregister() {
+        return claim(consumerId);
+    }
+
+    /**
+     * consumer-timeout 동안 하트비트가 없는 노드의 임대를 회수합니다.
+     * @return 회수한 작업 수 (다음 {@link #requeueExpiredLeases(int)} 에서 ready 레인으로 돌아갑니다)
+     */
+    public long reclaimDeadConsumers() {
+        Set<String> dead = redisTemplate.opsForZSet()
+                .rangeByScore(CONSUMERS_KEY, 0, System.currentTimeMillis() - consumerTimeoutMillis);
+        if (dead == null || dead.isEmpty()) return 0;
+        long claimed = 0;
+        for (String consumer : dead) {
+            long count = claim(consumer);
+            log.warn("Consumer {} stopped sending heartbeats; reclaimed {} leased tasks", consumer, count);
+            claimed += count;
+        }
+        return claimed;
+    }
+
+    /**
+     * 하트비트가 살아 있는 노드 목록입니다. (자기 자신은 첫 하트비트 전이라도 포함)
+     */
+    public List<String> liveConsumers() {
+        Set<String> live = redisTemplate.opsForZSet()
+                .rangeByScore(CONSUMERS_KEY, System.currentTimeMillis() - consumerTimeoutMillis, Double.POSITIVE_INFINITY);
+        List<String> result = new ArrayList<>(live != null ? live : Set.of());
+        if (!result.contains(consumerId)) result.add(consumerId);
+        return result;
+    }
+
+    /**
+     * 노드별 마지막 하트비트와 처리 통계입니다.
+     */
+    public List<ConsumerStats> consumers() {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().rangeWithScores(CONSUMERS_KEY, 0, -1);
+        if (tuples == null) return List.of();
+        long now = System.currentTimeMillis();
+        List<ConsumerStats> result = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            String consumer = tuple.getValue();
+            long heartbeat = tuple.getScore() != null ? tuple.getScore().longValue() : 0;
+            Map<String, Long> stats = new LinkedHashMap<>();
+            redisTemplate.opsForHash().entries(STATS_PREFIX + consumer + ":stats")
+                    .forEach((field, value) -> stats.put((String) field, Long.parseLong((String) value)));
+            Long pending = redisTemplate.opsForHash().size(PENDING_PREFIX + consumer);
+            result.add(new ConsumerStats(consumer, heartbeat, now - heartbeat < consumerTimeoutMillis,
+                    pending != null ? pending : 0, stats));
+        }
+        return result;
+    }
+
+    private long claim(String consumer) {
+        Long claimed = redisTemplate.execute(CLAIM_SCRIPT,
+                List.of(CONSUMERS_KEY, PENDING_PREFIX + consumer, INFLIGHT_KEY, STATS_PREFIX + consumer + ":stats"),
+                consumer, String.valueOf(STATS_TTL_SECONDS));
+        return claimed != null ? claimed : 0;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "batch";
+        }
+    }
+
+    /**
+     * 레인 도입 전의 단일 ready 큐에 남은 작업을 레인으로 옮기고, 지연/처리 중 작업의 우선순위 Hash 를 meta 로 합칩니다.
+     */
+    public void migrateLegacyQueue() {
+        String now = String.valueOf(System.currentTimeMillis() / 1000);
+        for (String legacyKey : LEGACY_PRIORITY_KEYS) {
+            Map<Object, Object> priorities = redisTemplate.opsForHash().entries(legacyKey);
+            priorities.forEach((member, priority) ->
+                    redisTemplate.opsForHash().putIfAbsent(META_KEY, member, priority + "|" + now));
+            redisTemplate.delete(legacyKey);
+        }
+
+        long moved = 0;
+        while (true) {
+            Set<ZSetOperations.TypedTuple<String>> popped = redisTemplate.opsForZSet().popMax(LEGACY_QUEUE_KEY, PUSH_BATCH);
+            if (popped == null || popped.isEmpty()) break;
+            List<QueueTask> tasks = new ArrayList<>(popped.size());
+            for (ZSetOperations.TypedTuple<String> tuple : popped) {
+                QueueTask task = tuple.getValue() != null
+                        ? toTask(tuple.getValue(), tuple.getScore() != null ? tuple.getScore() : 0) : null;
+                if (task != null) tasks.add(task);
+            }
+            pushTasks(tasks);
+            moved += tasks.size();
+        }
+        if (moved > 0) {
+            log.info("Moved {} tasks from {} into per-type lanes", moved, LEGACY_QUEUE_KEY);
+        }
+    }
+
+    private long moveDue(String sourceKey, int limit) {
+        List<String> keys = new ArrayList<>(3 + laneKeys.size());
+        keys.add(sourceKey);
+        keys.add(META_KEY);
+        keys.add(SIGNAL_KEY);
+        keys.addAll(laneKeys);
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(5 + laneTypes.size());
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(limit));
+        args.add(String.valueOf(MAX_SIGNALS));
+        args.add(String.valueOf(agingSecondsPerPoint));
+        args.add(String.valueOf(now / 1000));
+        args.addAll(laneTypes);
+        Long moved = redisTemplate.execute(PROMOTE_SCRIPT, keys, args.toArray());
+        return moved != null ? moved : 0;
+    }
+
+    private void count(String event, long amount) {
+        if (amount > 0) {
+            meterRegistry.counter("tft.queue.tasks", "event", event).increment(amount);
+        }
+    }
+
+    /**
+     * smooth weighted round-robin 으로 다음 레인을 고릅니다. 가중치가 3:1 이면 A A B A 처럼 고르게 섞입니다.
+     */
+    private synchronized int nextLane() {
+        int total = 0;
+        int best = 0;
+        for (int i = 0; i < laneWeights.length; i++) {
+            currentWeights[i] += laneWeights[i];
+            total += laneWeights[i];
+            if (currentWeights[i] > currentWeights[best]) best = i;
+        }
+        currentWeights[best] -= total;
+        return best;
+    }
+
+    private QueueTask toTask(String value, double priority) {
         String[] parts = value.split(":", 2);
         if (parts.length != 2) return null;
 
-        return new QueueTask(parts[1], parts[0], tuple.getScore());
+        return new QueueTask(parts[1], parts[0], priority);
+    }
+
+    public record ConsumerStats(String consumer, long lastHeartbeat, boolean alive, long pending, Map<String, Long> stats) {
+    }
+
+    public record DeadLetter(String type, String id, long failedAt, String reason) {
     }
 
     /**
@@ -44,6 +966,8 @@ public class RedisQueueService {
         public String id;
         public String type;
         public double priority;
+        // 임대 만료 시각 (ack / defer 시 내 임대인지 확인하는 용도)
+        public long leaseDeadline;
 
         public QueueTask(String id, String type, double priority) {
             this.id = id;
@@ -0,0 +1,202 @@
+package com.tft.batch.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.tft.batch.model.entity.GameInfo;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.TftDict;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+import com.tft.batch.repository.TftDictRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * tft_dict 의 메모리 캐시입니다. 처음 쓸 때 표 전체(시즌당 수백 행)를 읽어 두고,
+ * 새 시즌 등으로 처음 보는 ID 가 나오면 종류별로 한 번에 등록한 뒤 캐시에 더합니다.
+ * 다른 노드(웹, 다른 배치 노드)나 backfill 이 등록한 번호는 캐시에 없을 수 있으므로, 번호로 찾다가 없으면 DB 에서 읽어 채웁니다.
+ * 번호는 한 번 정해지면 바뀌지 않으므로 캐시를 비울 필요는 없습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TftDictionary {
+
+    public enum Kind { UNIT, ITEM, TRAIT, AUGMENT }
+
+    private static final int AUGMENT_BACKFILL_CHUNK = 1000;
+
+    private final TftDictRepository tftDictRepository;
+
+    private final Map<Kind, Map<String, Integer>> ids = new EnumMap<>(Kind.class);
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * @return 이름의 사전 번호 (없으면 등록), 이름이 null 이면 null
+     */
+    public Integer idOf(Kind kind, String name) {
+        if (name == null) return null;
+        Integer id = cache(kind).get(name);
+        if (id != null) return id;
+        return resolve(kind, Set.of(name)).get(name);
+    }
+
+    /**
+     * @return 번호의 이름, 사전에 없는 번호면 null
+     */
+    public String nameOf(int id) {
+        ensureLoaded();
+        String name = names.get(id);
+        if (name != null) return name;
+        TftDict dict = tftDictRepository.findByNum(id);
+        if (dict == null) return null;
+        cache(Kind.valueOf(dict.getDiKind())).put(dict.getDiName(), id);
+        names.put(id, dict.getDiName());
+        return dict.getDiName();
+    }
+
+    /**
+     * 매치 엔티티 그래프의 유닛 / 아이템 / 시너지 / 증강에 사전 번호를 채웁니다.
+     * 캐시에 없는 이름은 종류마다 모아 한 번에 등록합니다.
+     */
+    public void encode(GameInfo gameInfo) {
+        Map<Kind, Set<String>> missing = new EnumMap<>(Kind.class);
+        for (Participant p : gameInfo.getParticipants()) {
+            for (Unit u : p.getUnits()) {
+                collect(Kind.UNIT, u.getUnId(), missing);
+                Item item = u.getItem();
+                if (item != null) {
+                    collect(Kind.ITEM, item.getItFirst(), missing);
+                    collect(Kind.ITEM, item.getItSecond(), missing);
+                    collect(Kind.ITEM, item.getItThird(), missing);
+                }
+            }
+            for (Trait t : p.getTraits()) {
+                collect(Kind.TRAIT, t.getTrName(), missing);
+            }
+            for (String augment : augments(p.getPaAugments())) {
+                collect(Kind.AUGMENT, augment, missing);
+            }
+        }
+        missing.forEach(this::resolve);
+
+        for (Participant p : gameInfo.getParticipants()) {
+            for (Unit u : p.getUnits()) {
+                u.setUnDict(cached(Kind.UNIT, u.getUnId()));
+                Item item = u.getItem();
+                if (item != null) {
+                    item.setItFirstDict(cached(Kind.ITEM, item.getItFirst()));
+                    item.setItSecondDict(cached(Kind.ITEM, item.getItSecond()));
+                    item.setItThirdDict(cached(Kind.ITEM, item.getItThird()));
+                }
+            }
+            for (Trait t : p.getTraits()) {
+                t.setTrDict(cached(Kind.TRAIT, t.getTrName()));
+            }
+            if (p.getPaAugments() != null) {
+                p.setPaAugmentDicts(augmentDicts(p.getPaAugments()));
+            }
+        }
+    }
+
+    // 번호가 하나라도 없으면 목록 전체를 비워 두어 backfill 대상으로 남깁니다. (순서가 어긋난 목록을 쓰지 않도록)
+    private String augmentDicts(String paAugments) {
+        StringJoiner joined = new StringJoiner(",");
+        for (String augment : augments(paAugments)) {
+            Integer id = cached(Kind.AUGMENT, augment);
+            if (id == null) return null;
+            joined.add(String.valueOf(id));
+        }
+        return joined.toString();
+    }
+
+    /**
+     * 사전 번호 없이 저장된 unit / trait / item 행은 SQL(JOIN UPDATE)로, participant 의 증강 목록은
+     * 참가자 번호 구간 단위로 읽어 Java 에서 번호 목록을 만든 뒤 배치 UPDATE 로 채웁니다.
+     * SQL 로 새로 등록된 이름은 nameOf / idOf 가 처음 찾을 때 캐시에 채웁니다.
+     */
+    public Map<String, Integer> backfill() {
+        Map<String, Integer> updated = tftDictRepository.backfill();
+        int participants = 0;
+        int after = 0;
+        while (true) {
+            Map<Integer, String> rows = tftDictRepository.findAugmentsWithoutDicts(after, AUGMENT_BACKFILL_CHUNK);
+            if (rows.isEmpty()) break;
+            Map<Kind, Set<String>> missing = new EnumMap<>(Kind.class);
+            rows.values().forEach(augments -> {
+                for (String augment : augments(augments)) {
+                    collect(Kind.AUGMENT, augment, missing);
+                }
+            });
+            missing.forEach(this::resolve);
+
+            Map<Integer, String> dicts = new LinkedHashMap<>();
+            rows.forEach((paNum, augments) -> dicts.put(paNum, augmentDicts(augments)));
+            participants += tftDictRepository.updateAugmentDicts(dicts);
+            for (Integer paNum : rows.keySet()) {
+                after = paNum;
+            }
+        }
+        updated.put("participant", participants);
+        log.info("tft_dict backfill: {}", updated);
+        return updated;
+    }
+
+    private static String[] augments(String paAugments) {
+        return paAugments == null || paAugments.isEmpty() ? new String[0] : paAugments.split(",");
+    }
+
+    private void collect(Kind kind, String name, Map<Kind, Set<String>> missing) {
+        if (name != null && !cache(kind).containsKey(name)) {
+            missing.computeIfAbsent(kind, k -> new TreeSet<>()).add(name);
+        }
+    }
+
+    private Integer cached(Kind kind, String name) {
+        return name == null ? null : cache(kind).get(name);
+    }
+
+    private Map<String, Integer> resolve(Kind kind, Set<String> missing) {
+        Map<String, Integer> resolved = tftDictRepository.insertMissing(kind.name(), missing);
+        resolved.forEach((name, id) -> {
+            cache(kind).put(name, id);
+            names.put(id, name);
+        });
+        log.info("Registered {} {} ids in tft_dict", resolved.size(), kind);
+        return resolved;
+    }
+
+    private Map<String, Integer> cache(Kind kind) {
+        ensureLoaded();
+        return ids.get(kind);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            for (Kind kind : Kind.values()) {
+                ids.put(kind, new ConcurrentHashMap<>());
+            }
+            tftDictRepository.findAll().forEach((kind, byName) -> {
+                Map<String, Integer> cache = ids.get(Kind.valueOf(kind));
+                byName.forEach((name, id) -> {
+                    cache.put(name, id);
+                    names.put(id, name);
+                });
+            });
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.tft.batch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateControllerTest {
+
+    @Test
+    void 한도_헤더를_윈도우_목록으로_읽는다() {
+        assertEquals(List.of(new RateLimitWindow(20, 1), new RateLimitWindow(100, 120)),
+                RateLimitWindow.parse("20:1,100:120"));
+        assertEquals(List.of(new RateLimitWindow(500, 10)), RateLimitWindow.parse("500:10, bad"));
+        assertEquals(List.of(), RateLimitWindow.parse(null));
+    }
+
+    @Test
+    void 웹에_게시하는_윈도우는_헤더와_같은_형식이다() {
+        List<RateLimitWindow> windows = List.of(new RateLimitWindow(500, 10), new RateLimitWindow(30000, 600));
+        assertEquals("500:10,30000:600", RateLimitWindow.format(windows));
+        assertEquals(windows, RateLimitWindow.parse(RateLimitWindow.format(windows)));
+    }
+
+    @Test
+    void 경로로_메서드를_구분한다() {
+        assertEquals(AdaptiveRateController.MATCH_IDS,
+                AdaptiveRateController.methodOf("/tft/match/v1/matches/by-puuid/abc/ids?start=0&count=100"));
+        assertEquals(AdaptiveRateController.MATCH_BY_ID, AdaptiveRateController.methodOf("/tft/match/v1/matches/KR_1"));
+        assertEquals(AdaptiveRateController.LEAGUE, AdaptiveRateController.methodOf("/tft/league/v1/challenger"));
+        assertEquals(AdaptiveRateController.SUMMONER, AdaptiveRateController.methodOf("/tft/summoner/v1/summoners/x"));
+    }
+
+    @Test
+    void 가장_엄격한_메서드_윈도우를_목표_사용률로_나눈_간격을_사용한다() {
+        // 10초 1000회(초당 100) vs 1초 20회 → 1초 20회의 95% = 19회, 약 52.6ms 간격
+        long interval = AdaptiveRateController.minIntervalNanos(
+                List.of(new RateLimitWindow(1000, 10), new RateLimitWindow(20, 1)), 0.95);
+        assertEquals(TimeUnit.SECONDS.toNanos(1) / 19, interval);
+    }
+
+    @Test
+    void 같은_기간의_사용량으로_사용률을_계산한다() {
+        double usage = AdaptiveRateController.utilization(
+                List.of(new RateLimitWindow(20, 1), new RateLimitWindow(100, 120)),
+                List.of(new RateLimitWindow(5, 1), new RateLimitWindow(90, 120)));
+        assertEquals(0.9, usage, 1e-9);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tft.batch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    @Test
+    void 연속_실패가_기준에_닿으면_열리고_열린_동안은_거절한다() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 30_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, breaker.tryAcquire(i));
+            breaker.onFailure(i);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2 + 30_000, breaker.tryAcquire(1_000));
+    }
+
+    @Test
+    void 중간에_성공하면_실패_횟수를_다시_센다() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 30_000);
+
+        breaker.onFailure(0);
+        breaker.onFailure(1);
+        breaker.onSuccess();
+        breaker.onFailure(2);
+        breaker.onFailure(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void 열린_시간이_지나면_시험_호출_하나만_보내고_결과에_따라_닫히거나_다시_열린다() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 10_000);
+        breaker.onFailure(0);
+
+        assertEquals(0, breaker.tryAcquire(10_000));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(11_000, breaker.tryAcquire(10_000));
+
+        breaker.onFailure(10_500);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(20_500, breaker.tryAcquire(10_600));
+
+        assertEquals(0, breaker.tryAcquire(20_500));
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.tryAcquire(20_600));
+    }
+
+    @Test
+    void 시험_호출을_보내지_못하면_기회를_돌려준다() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 10_000);
+        breaker.onFailure(0);
+
+        assertEquals(0, breaker.tryAcquire(10_000));
+        breaker.release();
+        assertEquals(0, breaker.tryAcquire(10_001));
+    }
+}
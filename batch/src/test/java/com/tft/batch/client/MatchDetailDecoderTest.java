@@ -0,0 +1,249 @@
+package com.tft.batch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tft.batch.client.dto.RiotMatchDetailResponse;
+import com.tft.batch.model.entity.GameInfo;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+
+class MatchDetailDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final MatchDetailDecoder decoder = new MatchDetailDecoder(objectMapper);
+
+    @Test
+    void 스트리밍_디코딩_결과가_기존_DTO_경로와_같다() throws IOException {
+        byte[] json = sampleMatchJson();
+
+        GameInfo streamed = decoder.decode(new ByteArrayInputStream(json));
+        GameInfo legacy = legacyDecode(json);
+
+        assertEquals(legacy.getGaId(), streamed.getGaId());
+        assertEquals(legacy.getGaDatetime(), streamed.getGaDatetime());
+        assertEquals(legacy.getGaVersion(), streamed.getGaVersion());
+        assertEquals(legacy.getQueueId(), streamed.getQueueId());
+        assertEquals(legacy.getParticipants().size(), streamed.getParticipants().size());
+
+        for (int i = 0; i < legacy.getParticipants().size(); i++) {
+            Participant expected = legacy.getParticipants().get(i);
+            Participant actual = streamed.getParticipants().get(i);
+            assertEquals(expected.getPaPuuid(), actual.getPaPuuid());
+            assertEquals(expected.getPaPlacement(), actual.getPaPlacement());
+            assertEquals(expected.getPaLevel(), actual.getPaLevel());
+            assertEquals(expected.getPaGold(), actual.getPaGold());
+            assertEquals(expected.getPaName(), actual.getPaName());
+            assertEquals(expected.getPaTag(), actual.getPaTag());
+            assertEquals(expected.getPaAugments(), actual.getPaAugments());
+            assertEquals(expected.getPaCompanionId(), actual.getPaCompanionId());
+            assertEquals(expected.getTraits().size(), actual.getTraits().size());
+            assertEquals(expected.getUnits().size(), actual.getUnits().size());
+            for (int u = 0; u < expected.getUnits().size(); u++) {
+                Unit eu = expected.getUnits().get(u);
+                Unit au = actual.getUnits().get(u);
+                assertEquals(eu.getUnId(), au.getUnId());
+                assertEquals(eu.getUnTier(), au.getUnTier());
+                assertEquals(eu.getUnCost(), au.getUnCost());
+                if (eu.getItem() == null) {
+                    assertNull(au.getItem());
+                } else {
+                    assertEquals(eu.getItem().getItFirst(), au.getItem().getItFirst());
+                    assertEquals(eu.getItem().getItSecond(), au.getItem().getItSecond());
+                    assertEquals(eu.getItem().getItThird(), au.getItem().getItThird());
+                }
+            }
+        }
+    }
+
+    /**
+     * 매치 1건을 디코딩할 때 스레드가 할당하는 바이트 수를 기존 경로(DTO 바인딩 후 엔티티 복사)와 비교합니다.
+     * 쓰지 않는 필드와 중간 DTO 를 만들지 않으므로 할당량이 최소 20% 는 줄어야 합니다.
+     */
+    @Test
+    void 스트리밍_디코딩이_기존_경로보다_적게_할당한다() throws IOException {
+        byte[] json = sampleMatchJson();
+        int iterations = 2000;
+
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(new ByteArrayInputStream(json));
+            legacyDecode(json);
+        }
+
+        long streamedBytes = allocatedBytesPerMatch(json, iterations, true);
+        long legacyBytes = allocatedBytesPerMatch(json, iterations, false);
+
+        assertTrue(streamedBytes <= legacyBytes * 0.8,
+                "streaming=" + streamedBytes + " B/match, legacy=" + legacyBytes + " B/match");
+    }
+
+    private long allocatedBytesPerMatch(byte[] json, int iterations, boolean streaming) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            if (streaming) {
+                decoder.decode(new ByteArrayInputStream(json));
+            } else {
+                legacyDecode(json);
+            }
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / iterations;
+    }
+
+    /**
+     * 스트리밍 디코더 도입 전 경로: DTO 로 전체 바인딩한 뒤 저장할 필드만 엔티티로 복사합니다.
+     */
+    private GameInfo legacyDecode(byte[] json) throws IOException {
+        RiotMatchDetailResponse response = objectMapper.readValue(json, RiotMatchDetailResponse.class);
+        RiotMatchDetailResponse.Info info = response.getInfo();
+
+        GameInfo gameInfo = new GameInfo();
+        gameInfo.setGaId(response.getMetadata().getMatch_id());
+        gameInfo.setGaDatetime(Instant.ofEpochMilli(info.getGame_datetime()).atZone(ZoneId.of("Asia/Seoul")).toLocalDateTime());
+        gameInfo.setGaVersion(info.getGame_version());
+        gameInfo.setQueueId(info.getQueue_id());
+
+        for (RiotMatchDetailResponse.Participant pDto : info.getParticipants()) {
+            Participant p = new Participant();
+            p.setPaPuuid(pDto.getPuuid());
+            p.setPaPlacement(pDto.getPlacement());
+            p.setPaLevel(pDto.getLevel());
+            p.setPaGold(pDto.getGold_left());
+            p.setPaName(pDto.getRiotIdGameName() != null ? pDto.getRiotIdGameName() : "");
+            p.setPaTag(pDto.getRiotIdTagline() != null ? pDto.getRiotIdTagline() : "");
+            if (pDto.getAugments() != null) {
+                p.setPaAugments(String.join(",", pDto.getAugments()));
+            }
+            if (pDto.getCompanion() != null) {
+                p.setPaCompanionId(pDto.getCompanion().getItem_ID());
+            }
+            p.setGameInfo(gameInfo);
+            gameInfo.getParticipants().add(p);
+
+            for (RiotMatchDetailResponse.Trait tDto : pDto.getTraits()) {
+                if (tDto.getTier_current() > 0) {
+                    Trait t = new Trait();
+                    t.setTrName(tDto.getName());
+                    t.setTrNumUnits(tDto.getNum_units());
+                    t.setTrStyle(tDto.getStyle());
+                    t.setParticipant(p);
+                    p.getTraits().add(t);
+                }
+            }
+            for (RiotMatchDetailResponse.Unit uDto : pDto.getUnits()) {
+                Unit u = new Unit();
+                u.setUnId(uDto.getCharacter_id());
+                u.setUnName(uDto.getCharacter_id());
+                u.setUnTier(uDto.getTier());
+                u.setUnCost(uDto.getRarity());
+                u.setParticipant(p);
+                p.getUnits().add(u);
+                if (uDto.getItemNames() != null && !uDto.getItemNames().isEmpty()) {
+                    List<String> items = uDto.getItemNames();
+                    Item item = new Item();
+                    item.setItFirst(items.get(0));
+                    item.setItSecond(items.size() > 1 ? items.get(1) : null);
+                    item.setItThird(items.size() > 2 ? items.get(2) : null);
+                    item.setUnit(u);
+                    u.setItem(item);
+                }
+            }
+        }
+        return gameInfo;
+    }
+
+    /**
+     * 실제 응답과 비슷한 크기/구조(8명, 유닛 9개, 시너지 12개, 저장하지 않는 필드 포함)의 매치 JSON 을 만듭니다.
+     */
+    private byte[] sampleMatchJson() throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode metadata = root.putObject("metadata");
+        metadata.put("data_version", "6");
+        metadata.put("match_id", "KR_7712345678");
+        ArrayNode puuids = metadata.putArray("participants");
+
+        ObjectNode info = root.putObject("info");
+        info.put("endOfGameResult", "GameComplete");
+        info.put("gameCreation", 1776300000000L);
+        info.put("gameId", 7712345678L);
+        info.put("game_datetime", 1776302400000L);
+        info.put("game_length", 2201.5);
+        info.put("game_version", "Linux Version 16.8.123.4567");
+        info.put("mapId", 22);
+        info.put("queueId", 1100);
+        info.put("tft_game_type", "standard");
+        info.put("tft_set_core_name", "TFTSet17");
+        info.put("tft_set_number", 17);
+        ArrayNode participants = info.putArray("participants");
+
+        for (int p = 0; p < 8; p++) {
+            String puuid = "puuid-" + p + "-xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+            puuids.add(puuid);
+
+            ObjectNode participant = participants.addObject();
+            ArrayNode augments = participant.putArray("augments");
+            augments.add("TFT9_Augment_CyberneticBulk").add("TFT17_Augment_Example" + p).add("TFT6_Augment_Diversity");
+            ObjectNode companion = participant.putObject("companion");
+            companion.put("content_ID", "a1b2c3d4-0000-0000-0000-000000000000");
+            companion.put("item_ID", 10000 + p);
+            companion.put("skin_ID", 1);
+            companion.put("species", "PetChibiAhri");
+            participant.put("gold_left", p * 3);
+            participant.put("last_round", 30 + p);
+            participant.put("level", 8 + (p % 3));
+            ObjectNode missions = participant.putObject("missions");
+            for (int m = 0; m < 40; m++) {
+                missions.put("PlayerScore" + m, m * 17);
+            }
+            participant.put("placement", p + 1);
+            participant.put("players_eliminated", p % 2);
+            participant.put("puuid", puuid);
+            participant.put("riotIdGameName", "플레이어" + p);
+            participant.put("riotIdTagline", "KR" + p);
+            participant.put("time_eliminated", 1800.25 + p);
+            participant.put("total_damage_to_players", 100 + p);
+
+            ArrayNode traits = participant.putArray("traits");
+            for (int t = 0; t < 12; t++) {
+                ObjectNode trait = traits.addObject();
+                trait.put("name", "TFT17_Trait" + t);
+                trait.put("num_units", 1 + t % 6);
+                trait.put("style", t % 5);
+                trait.put("tier_current", t % 3);
+                trait.put("tier_total", 3);
+            }
+
+            ArrayNode units = participant.putArray("units");
+            for (int u = 0; u < 9; u++) {
+                ObjectNode unit = units.addObject();
+                unit.put("character_id", "TFT17_Champion" + u);
+                ArrayNode itemNames = unit.putArray("itemNames");
+                for (int i = 0; i < u % 4; i++) {
+                    itemNames.add("TFT_Item_Example" + i);
+                }
+                unit.put("name", "");
+                unit.put("rarity", u % 7);
+                unit.put("tier", 1 + u % 3);
+            }
+        }
+        return objectMapper.writeValueAsBytes(root);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tft.batch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void 초당_한도를_넘으면_가장_오래된_호출이_빠질_때까지_대기한다() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, 100);
+
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(100));
+        assertEquals(SECOND, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(SECOND));
+    }
+
+    @Test
+    void 이분_한도가_초당_한도보다_먼저_막히면_이분_윈도우를_기준으로_대기한다() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(20, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(i * SECOND));
+        }
+        long wait = limiter.tryAcquire(3 * SECOND);
+        assertEquals(TimeUnit.MINUTES.toNanos(2) - 3 * SECOND, wait);
+        assertEquals(0, limiter.tryAcquire(TimeUnit.MINUTES.toNanos(2)));
+    }
+}
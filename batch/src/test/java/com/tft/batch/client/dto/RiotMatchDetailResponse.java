@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import java.util.List;
 
+/**
+ * 스트리밍 디코더 도입 전의 매치 상세 DTO 입니다. MatchDetailDecoderTest 에서 기존 경로와 비교하는 용도로만 사용합니다.
+ */
 @Getter
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class RiotMatchDetailResponse {
@@ -0,0 +1,208 @@
+package com.tft.batch.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tft.batch.model.entity.GameInfo;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+
+/**
+ * 매치 저장 속도를 기존 방식(IDENTITY 키로 행마다 INSERT, JPA cascade 와 같은 왕복 수)과 MatchBulkWriter 로 비교합니다.
+ * MySQL 이 필요하므로 평소에는 건너뛰고, 비어 있는 스키마를 지정했을 때만 실행합니다.
+ * 처리량은 환경마다 달라 단정하지 않고 TestReporter 로 남기며, 검증은 저장된 행 수만 합니다.
+ * <pre>
+ * mvn test -Dtest=MatchBulkWriterBenchmarkTest \
+ *   -Dbench.jdbc.url="jdbc:mysql://localhost:3307/tft_bench?rewriteBatchedStatements=true&amp;allowPublicKeyRetrieval=true&amp;useSSL=false" \
+ *   -Dbench.jdbc.user=root -Dbench.jdbc.password=...
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class MatchBulkWriterBenchmarkTest {
+
+    private static final int MATCHES = 200;
+
+    @Test
+    void 배치_저장과_행_단위_저장의_처리량을_비교한다(TestReporter reporter) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("bench.jdbc.url"),
+                System.getProperty("bench.jdbc.user", "root"), System.getProperty("bench.jdbc.password", ""));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        createTables(jdbcTemplate);
+        MatchBulkWriter writer = new MatchBulkWriter(jdbcTemplate);
+
+        // 워밍업
+        for (int i = 0; i < 20; i++) {
+            tx.executeWithoutResult(s -> insertRowByRow(jdbcTemplate, sampleMatch()));
+            tx.executeWithoutResult(s -> writer.insert(sampleMatch()));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MATCHES; i++) {
+            GameInfo game = sampleMatch();
+            tx.executeWithoutResult(s -> insertRowByRow(jdbcTemplate, game));
+        }
+        double rowByRow = MATCHES / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < MATCHES; i++) {
+            GameInfo game = sampleMatch();
+            tx.executeWithoutResult(s -> writer.insert(game));
+        }
+        double bulk = MATCHES / ((System.nanoTime() - start) / 1e9);
+
+        reporter.publishEntry("rowByRowMatchesPerSecond", String.format("%.1f", rowByRow));
+        reporter.publishEntry("bulkMatchesPerSecond", String.format("%.1f", bulk));
+        reporter.publishEntry("speedup", String.format("%.1f", bulk / rowByRow));
+
+        GameInfo check = sampleMatch();
+        tx.executeWithoutResult(s -> writer.insert(check));
+        assertEquals(8 * 9, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM unit u JOIN participant p ON u.UN_PA_NUM = p.PA_NUM
+                WHERE p.PA_GA_NUM = ?
+                """, Integer.class, check.getGaNum()));
+    }
+
+    /**
+     * JPA cascade 가 IDENTITY 키로 보내는 것과 같이 행마다 INSERT 하고 생성 키를 받아 자식에 넘깁니다.
+     */
+    private void insertRowByRow(JdbcTemplate jdbc, GameInfo game) {
+        game.setGaNum(insertReturningKey(jdbc,
+                "INSERT INTO game_info (GA_ID, GA_DATETIME, GA_VERSION, queue_id) VALUES (?, ?, ?, ?)",
+                game.getGaId(), Timestamp.valueOf(game.getGaDatetime()), game.getGaVersion(), game.getQueueId()));
+        for (Participant p : game.getParticipants()) {
+            p.setPaNum(insertReturningKey(jdbc, """
+                    INSERT INTO participant (PA_GA_NUM, PA_PUUID, PA_NAME, PA_TAG, PA_COMPANION_ID,
+                                             PA_PLACEMENT, PA_GOLD, PA_LEVEL, PA_AUGMENTS)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, game.getGaNum(), p.getPaPuuid(), p.getPaName(), p.getPaTag(), p.getPaCompanionId(),
+                    p.getPaPlacement(), p.getPaGold(), p.getPaLevel(), p.getPaAugments()));
+            for (Unit u : p.getUnits()) {
+                u.setUnNum(insertReturningKey(jdbc,
+                        "INSERT INTO unit (UN_PA_NUM, UN_ID, UN_NAME, UN_TIER, UN_COST) VALUES (?, ?, ?, ?, ?)",
+                        p.getPaNum(), u.getUnId(), u.getUnName(), u.getUnTier(), u.getUnCost()));
+                if (u.getItem() != null) {
+                    Item it = u.getItem();
+                    insertReturningKey(jdbc, "INSERT INTO item (IT_UN_NUM, IT_FIRST, IT_SECOND, IT_THIRD) VALUES (?, ?, ?, ?)",
+                            u.getUnNum(), it.getItFirst(), it.getItSecond(), it.getItThird());
+                }
+            }
+            for (Trait t : p.getTraits()) {
+                insertReturningKey(jdbc, "INSERT INTO trait (TR_PA_NUM, TR_NAME, TR_NUM_UNITS, TR_STYLE) VALUES (?, ?, ?, ?)",
+                        p.getPaNum(), t.getTrName(), t.getTrNumUnits(), t.getTrStyle());
+            }
+        }
+    }
+
+    private int insertReturningKey(JdbcTemplate jdbc, String sql, Object... args) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keys);
+        return keys.getKey().intValue();
+    }
+
+    /**
+     * MatchDetailDecoderTest 의 샘플과 같은 구조(8명, 유닛 9개, 시너지 12개)의 엔티티 그래프를 만듭니다.
+     */
+    private GameInfo sampleMatch() {
+        GameInfo game = new GameInfo();
+        game.setGaId("BENCH_" + UUID.randomUUID());
+        game.setGaDatetime(LocalDateTime.now());
+        game.setGaVersion("Linux Version 16.8.123.4567");
+        game.setQueueId(1100);
+        for (int p = 0; p < 8; p++) {
+            Participant participant = new Participant();
+            participant.setGameInfo(game);
+            participant.setPaPuuid("puuid-" + p + "-" + UUID.randomUUID());
+            participant.setPaName("플레이어" + p);
+            participant.setPaTag("KR" + p);
+            participant.setPaCompanionId(10000 + p);
+            participant.setPaPlacement(p + 1);
+            participant.setPaGold(p * 3);
+            participant.setPaLevel(8 + p % 3);
+            participant.setPaAugments("TFT9_Augment_CyberneticBulk,TFT17_Augment_Example" + p + ",TFT6_Augment_Diversity");
+            for (int t = 0; t < 12; t++) {
+                Trait trait = new Trait();
+                trait.setParticipant(participant);
+                trait.setTrName("TFT17_Trait" + t);
+                trait.setTrNumUnits(1 + t % 6);
+                trait.setTrStyle(t % 5);
+                participant.getTraits().add(trait);
+            }
+            for (int u = 0; u < 9; u++) {
+                Unit unit = new Unit();
+                unit.setParticipant(participant);
+                unit.setUnId("TFT17_Champion" + u);
+                unit.setUnName("");
+                unit.setUnTier(1 + u % 3);
+                unit.setUnCost(u % 7);
+                if (u % 4 > 0) {
+                    Item item = new Item();
+                    item.setUnit(unit);
+                    item.setItFirst("TFT_Item_Example0");
+                    item.setItSecond(u % 4 > 1 ? "TFT_Item_Example1" : null);
+                    item.setItThird(u % 4 > 2 ? "TFT_Item_Example2" : null);
+                    unit.setItem(item);
+                }
+                participant.getUnits().add(unit);
+            }
+            game.getParticipants().add(participant);
+        }
+        return game;
+    }
+
+    private void createTables(JdbcTemplate jdbc) {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS game_info (
+                    GA_NUM INT AUTO_INCREMENT PRIMARY KEY, GA_ID VARCHAR(50) NOT NULL UNIQUE,
+                    GA_DATETIME DATETIME(6) NOT NULL, GA_VERSION VARCHAR(255), queue_id INT)
+                """);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS participant (
+                    PA_NUM INT AUTO_INCREMENT PRIMARY KEY, PA_GA_NUM INT, PA_PUUID VARCHAR(255) NOT NULL,
+                    PA_NAME VARCHAR(100) NOT NULL, PA_TAG VARCHAR(50) NOT NULL, PA_COMPANION_ID INT,
+                    PA_PLACEMENT INT NOT NULL, PA_GOLD INT NOT NULL, PA_LEVEL INT NOT NULL, PA_AUGMENTS TEXT,
+                    PA_AUGMENT_DICTS VARCHAR(64), PA_BOARD BLOB,
+                    FOREIGN KEY (PA_GA_NUM) REFERENCES game_info (GA_NUM))
+                """);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS unit (
+                    UN_NUM INT AUTO_INCREMENT PRIMARY KEY, UN_ID VARCHAR(50) NOT NULL, UN_NAME VARCHAR(50) NOT NULL,
+                    UN_TIER INT NOT NULL, UN_COST INT NOT NULL, UN_DICT INT, UN_PA_NUM INT,
+                    FOREIGN KEY (UN_PA_NUM) REFERENCES participant (PA_NUM))
+                """);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS item (
+                    IT_NUM INT AUTO_INCREMENT PRIMARY KEY, IT_FIRST VARCHAR(100), IT_SECOND VARCHAR(100),
+                    IT_THIRD VARCHAR(100), IT_FIRST_DICT INT, IT_SECOND_DICT INT, IT_THIRD_DICT INT, IT_UN_NUM INT UNIQUE,
+                    FOREIGN KEY (IT_UN_NUM) REFERENCES unit (UN_NUM))
+                """);
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS trait (
+                    TR_NUM INT AUTO_INCREMENT PRIMARY KEY, TR_NAME VARCHAR(50) NOT NULL, TR_NUM_UNITS INT NOT NULL,
+                    TR_STYLE INT NOT NULL, TR_DICT INT, TR_PA_NUM INT,
+                    FOREIGN KEY (TR_PA_NUM) REFERENCES participant (PA_NUM))
+                """);
+    }
+}
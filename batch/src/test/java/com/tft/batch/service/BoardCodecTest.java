@@ -0,0 +1,97 @@
+package com.tft.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+
+class BoardCodecTest {
+
+    @Test
+    void 인코딩한_보드를_그대로_복원한다() {
+        Participant participant = new Participant();
+        participant.getUnits().add(unit("TFT17_Ahri", "아리", 3, 4, "TFT_Item_JeweledGauntlet", "TFT_Item_Blue", null));
+        participant.getUnits().add(unit("TFT17_Ahri", "아리", 1, 4, null, null, null));
+        participant.getUnits().add(unit("TFT17_Jinx", "", 2, 300, "TFT_Item_Blue", null, null));
+        participant.getTraits().add(trait("TFT17_Arcana", 4, 3));
+        participant.getTraits().add(trait("TFT17_Sorcerer", 2, 1));
+
+        BoardCodec.Board board = BoardCodec.decode(BoardCodec.encode(participant));
+
+        assertEquals(List.of(
+                new BoardCodec.BoardUnit("TFT17_Ahri", "아리", 3, 4, List.of("TFT_Item_JeweledGauntlet", "TFT_Item_Blue")),
+                new BoardCodec.BoardUnit("TFT17_Ahri", "아리", 1, 4, List.of()),
+                new BoardCodec.BoardUnit("TFT17_Jinx", "", 2, 300, List.of("TFT_Item_Blue"))), board.units());
+        assertEquals(List.of(
+                new BoardCodec.BoardTrait("TFT17_Arcana", 4, 3),
+                new BoardCodec.BoardTrait("TFT17_Sorcerer", 2, 1)), board.traits());
+    }
+
+    @Test
+    void 웹_모듈과_같은_바이트로_인코딩한다() {
+        // web 의 BoardCodecTest 와 같은 벡터입니다. 한쪽 형식만 바뀌면 여기서 깨집니다.
+        BoardCodec.Board board = new BoardCodec.Board(
+                List.of(new BoardCodec.BoardUnit("A", "a", 2, 3, List.of("I"))),
+                List.of(new BoardCodec.BoardTrait("T", 1, 2)));
+
+        assertArrayEquals(new byte[]{1, 4, 1, 65, 1, 97, 1, 73, 1, 84, 1, 0, 1, 2, 3, 1, 2, 1, 3, 1, 2},
+                BoardCodec.encode(board));
+    }
+
+    @Test
+    void 반복되는_ID_는_한_번만_저장한다() {
+        Participant participant = new Participant();
+        for (int i = 0; i < 9; i++) {
+            participant.getUnits().add(unit("TFT17_Champion", "TFT17_Champion", 2, 3,
+                    "TFT_Item_Example", "TFT_Item_Example", "TFT_Item_Example"));
+        }
+
+        byte[] packed = BoardCodec.encode(participant);
+
+        // 문자열 표 2개 + 유닛당 8바이트 남짓이면 충분합니다.
+        assertTrue(packed.length < 120, "packed size " + packed.length);
+        assertEquals(9, BoardCodec.decode(packed).units().size());
+    }
+
+    @Test
+    void 빈_보드와_모르는_버전을_구분한다() {
+        BoardCodec.Board empty = BoardCodec.decode(BoardCodec.encode(new Participant()));
+        assertTrue(empty.units().isEmpty());
+        assertTrue(empty.traits().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode(new byte[]{9, 0, 0, 0}));
+    }
+
+    private static Unit unit(String id, String name, int star, int cost, String first, String second, String third) {
+        Unit unit = new Unit();
+        unit.setUnId(id);
+        unit.setUnName(name);
+        unit.setUnTier(star);
+        unit.setUnCost(cost);
+        if (first != null) {
+            Item item = new Item();
+            item.setItFirst(first);
+            item.setItSecond(second);
+            item.setItThird(third);
+            unit.setItem(item);
+        }
+        return unit;
+    }
+
+    private static Trait trait(String name, int numUnits, int style) {
+        Trait trait = new Trait();
+        trait.setTrName(name);
+        trait.setTrNumUnits(numUnits);
+        trait.setTrStyle(style);
+        return trait;
+    }
+}
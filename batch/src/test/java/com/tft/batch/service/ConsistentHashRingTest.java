@@ -0,0 +1,48 @@
+package com.tft.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void 키를_노드에_고르게_나눈다() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("batch-a", "batch-b", "batch-c"), 100);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor("puuid-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 3 * 0.7 && count < KEYS / 3 * 1.3, "count: " + count));
+    }
+
+    @Test
+    void 노드가_빠지면_그_노드의_키만_옮겨간다() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("batch-a", "batch-b", "batch-c"), 100);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("batch-a", "batch-b"), 100);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "puuid-" + i;
+            String owner = before.nodeFor(key);
+            if (!"batch-c".equals(owner)) {
+                assertEquals(owner, after.nodeFor(key));
+            }
+        }
+    }
+
+    @Test
+    void 노드가_없으면_null() {
+        assertNull(new ConsistentHashRing(List.of(), 100).nodeFor("puuid"));
+    }
+}
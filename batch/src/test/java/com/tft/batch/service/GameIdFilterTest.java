@@ -0,0 +1,53 @@
+package com.tft.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+class GameIdFilterTest {
+
+    private static final int HASHES = 7;
+    private static final long BITS = 1 << 17;
+
+    @Test
+    void 같은_ID_는_항상_같은_비트_위치를_쓴다() {
+        assertArrayEquals(GameIdFilter.offsets("KR_7654321098", HASHES, BITS),
+                GameIdFilter.offsets("KR_7654321098", HASHES, BITS));
+    }
+
+    @Test
+    void 비트_위치는_web_의_GameIdFilter_와_같다() {
+        // web GameIdFilterTest 와 같은 값입니다. 한쪽 계산을 바꾸면 양쪽이 함께 바뀌어야 합니다.
+        assertArrayEquals(new long[] {12064740, 8291571, 4518402, 745233, 13749280, 9976111, 6202942},
+                GameIdFilter.offsets("KR_7654321098", 7, 1 << 24));
+    }
+
+    @Test
+    void 넣은_ID_는_빠짐없이_찾고_오탐은_드물다() {
+        BitSet filter = new BitSet((int) BITS);
+        for (int i = 0; i < 10_000; i++) {
+            for (long offset : GameIdFilter.offsets("KR_" + (7_000_000_000L + i), HASHES, BITS)) {
+                filter.set((int) offset);
+            }
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(contains(filter, "KR_" + (7_000_000_000L + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (contains(filter, "KR_" + (8_000_000_000L + i))) falsePositives++;
+        }
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+    }
+
+    private static boolean contains(BitSet filter, String gaId) {
+        for (long offset : GameIdFilter.offsets(gaId, HASHES, BITS)) {
+            if (!filter.get((int) offset)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tft.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.MetaDeck;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+import com.tft.batch.repository.MetaDeckRepository;
+import com.tft.batch.repository.ParticipantRepository;
+
+class MetaAnalysisServiceTest {
+
+    private final TftDictionaryTest.FakeTftDictRepository dictRepository = new TftDictionaryTest.FakeTftDictRepository();
+    private final int ahri = dictRepository.register("UNIT", "TFT17_Ahri");
+    private final int bruiser = dictRepository.register("TRAIT", "TFT17_Bruiser");
+    private final int sword = dictRepository.register("ITEM", "TFT_Item_Sword");
+    private final int augmentItem = dictRepository.register("ITEM", "TFT_Augment_InItemSlot");
+    private final int augment = dictRepository.register("AUGMENT", "TFT_Augment_A");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 사전_번호로_묶고_이름으로_돌려_저장한다() throws Exception {
+        List<Participant> participants = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            participants.add(participant(i + 1, true));
+        }
+        // 사전 번호가 없는 예전 행도 이름으로 번호를 찾아 같은 덱으로 묶입니다.
+        participants.add(participant(5, false));
+        participants.add(participant(6, false));
+
+        ParticipantRepository participantRepository = mock(ParticipantRepository.class);
+        MetaDeckRepository metaDeckRepository = mock(MetaDeckRepository.class);
+        when(participantRepository.findAllWithTraits(any())).thenReturn(participants);
+        ObjectMapper objectMapper = new ObjectMapper();
+        new MetaAnalysisService(participantRepository, metaDeckRepository, objectMapper,
+                new TftDictionary(dictRepository)).analyzeMeta();
+
+        ArgumentCaptor<List<MetaDeck>> saved = ArgumentCaptor.forClass(List.class);
+        verify(metaDeckRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        MetaDeck deck = saved.getValue().get(0);
+        assertEquals("4 TFT17_Bruiser TFT17_Ahri", deck.getName());
+        assertEquals("[\"TFT17_Bruiser\"]", deck.getTraits());
+        assertEquals("[\"TFT_Augment_A\"]", deck.getKeyAugments());
+        // 아이템 칸에 들어온 증강은 빠집니다.
+        assertEquals("[{\"name\":\"TFT17_Ahri\",\"cost\":4,\"items\":[\"TFT_Item_Sword\"]}]", deck.getCoreUnits());
+        assertEquals(3.5, deck.getAvgPlacement());
+    }
+
+    private Participant participant(int placement, boolean encoded) {
+        Participant participant = new Participant();
+        participant.setPaPlacement(placement);
+        participant.setPaAugments("TFT_Augment_A");
+
+        Trait trait = new Trait();
+        trait.setTrName("TFT17_Bruiser");
+        trait.setTrNumUnits(4);
+        trait.setTrStyle(2);
+        participant.getTraits().add(trait);
+
+        Unit unit = new Unit();
+        unit.setUnId("TFT17_Ahri");
+        unit.setUnCost(4);
+        Item item = new Item();
+        item.setItFirst("TFT_Item_Sword");
+        item.setItSecond("TFT_Augment_InItemSlot");
+        unit.setItem(item);
+        participant.getUnits().add(unit);
+
+        if (encoded) {
+            trait.setTrDict(bruiser);
+            unit.setUnDict(ahri);
+            item.setItFirstDict(sword);
+            item.setItSecondDict(augmentItem);
+            participant.setPaAugmentDicts(String.valueOf(augment));
+        }
+        return participant;
+    }
+}
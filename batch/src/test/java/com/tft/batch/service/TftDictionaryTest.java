@@ -0,0 +1,130 @@
+package com.tft.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tft.batch.model.entity.GameInfo;
+import com.tft.batch.model.entity.Item;
+import com.tft.batch.model.entity.Participant;
+import com.tft.batch.model.entity.TftDict;
+import com.tft.batch.model.entity.Trait;
+import com.tft.batch.model.entity.Unit;
+import com.tft.batch.repository.TftDictRepository;
+
+class TftDictionaryTest {
+
+    /**
+     * tft_dict 를 메모리 표로 흉내 냅니다. 번호 조회와 등록 횟수를 셉니다.
+     */
+    static class FakeTftDictRepository extends TftDictRepository {
+        final Map<String, Map<String, Integer>> table = new HashMap<>();
+        int nextNum = 1;
+        int lookups;
+        int inserts;
+
+        FakeTftDictRepository() {
+            super(null);
+        }
+
+        // 다른 노드가 등록한 것처럼 캐시를 거치지 않고 표에 바로 넣습니다.
+        int register(String kind, String name) {
+            return table.computeIfAbsent(kind, k -> new HashMap<>()).computeIfAbsent(name, n -> nextNum++);
+        }
+
+        @Override
+        public Map<String, Map<String, Integer>> findAll() {
+            Map<String, Map<String, Integer>> copy = new HashMap<>();
+            table.forEach((kind, byName) -> copy.put(kind, new HashMap<>(byName)));
+            return copy;
+        }
+
+        @Override
+        public TftDict findByNum(int diNum) {
+            lookups++;
+            for (Map.Entry<String, Map<String, Integer>> kind : table.entrySet()) {
+                for (Map.Entry<String, Integer> row : kind.getValue().entrySet()) {
+                    if (row.getValue() == diNum) {
+                        TftDict dict = new TftDict();
+                        dict.setDiNum(diNum);
+                        dict.setDiKind(kind.getKey());
+                        dict.setDiName(row.getKey());
+                        return dict;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Map<String, Integer> insertMissing(String kind, Collection<String> names) {
+            inserts++;
+            Map<String, Integer> ids = new LinkedHashMap<>();
+            names.forEach(name -> ids.put(name, register(kind, name)));
+            return ids;
+        }
+    }
+
+    @Test
+    void 캐시를_읽은_뒤_다른_노드가_등록한_번호도_이름을_찾는다() {
+        FakeTftDictRepository repository = new FakeTftDictRepository();
+        repository.register("UNIT", "TFT17_Ahri");
+        TftDictionary dictionary = new TftDictionary(repository);
+        assertEquals("TFT17_Ahri", dictionary.nameOf(1));
+
+        int traitId = repository.register("TRAIT", "TFT17_NewTrait");
+        assertEquals("TFT17_NewTrait", dictionary.nameOf(traitId));
+        assertEquals("TFT17_NewTrait", dictionary.nameOf(traitId));
+        assertEquals(1, repository.lookups);
+        // 번호로 읽어 온 이름은 이름 -> 번호 캐시에도 들어가 다시 등록하지 않습니다.
+        assertEquals(traitId, dictionary.idOf(TftDictionary.Kind.TRAIT, "TFT17_NewTrait"));
+        assertEquals(0, repository.inserts);
+    }
+
+    @Test
+    void 매치의_유닛_아이템_시너지_증강에_번호를_채운다() {
+        FakeTftDictRepository repository = new FakeTftDictRepository();
+        int ahri = repository.register("UNIT", "TFT17_Ahri");
+        TftDictionary dictionary = new TftDictionary(repository);
+
+        GameInfo game = new GameInfo();
+        Participant participant = new Participant();
+        participant.setPaAugments("TFT_Augment_A,TFT_Augment_B,TFT_Augment_A");
+        Unit unit = new Unit();
+        unit.setUnId("TFT17_Ahri");
+        Item item = new Item();
+        item.setItFirst("TFT_Item_Sword");
+        item.setItSecond("TFT_Item_Bow");
+        unit.setItem(item);
+        participant.getUnits().add(unit);
+        Trait trait = new Trait();
+        trait.setTrName("TFT17_Trait");
+        participant.getTraits().add(trait);
+        game.getParticipants().add(participant);
+
+        dictionary.encode(game);
+
+        assertEquals(ahri, unit.getUnDict());
+        assertEquals(repository.table.get("ITEM").get("TFT_Item_Sword"), item.getItFirstDict());
+        assertEquals(repository.table.get("ITEM").get("TFT_Item_Bow"), item.getItSecondDict());
+        assertNull(item.getItThirdDict());
+        assertEquals(repository.table.get("TRAIT").get("TFT17_Trait"), trait.getTrDict());
+        int a = repository.table.get("AUGMENT").get("TFT_Augment_A");
+        int b = repository.table.get("AUGMENT").get("TFT_Augment_B");
+        assertEquals(a + "," + b + "," + a, participant.getPaAugmentDicts());
+        // 캐시에 없던 ITEM, TRAIT, AUGMENT 를 종류마다 한 번씩만 등록합니다.
+        assertEquals(3, repository.inserts);
+    }
+
+    @Test
+    void 없는_번호는_null() {
+        TftDictionary dictionary = new TftDictionary(new FakeTftDictRepository());
+        assertNull(dictionary.nameOf(99));
+    }
+}
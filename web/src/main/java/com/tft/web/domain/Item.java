@@ -33,6 +33,16 @@ public class Item {
     @Column(name = "IT_THIRD", length = 100)
     private String itThird;
 
+    // IT_FIRST / IT_SECOND / IT_THIRD 의 tft_dict 번호
+    @Column(name = "IT_FIRST_DICT")
+    private Integer itFirstDict;
+
+    @Column(name = "IT_SECOND_DICT")
+    private Integer itSecondDict;
+
+    @Column(name = "IT_THIRD_DICT")
+    private Integer itThirdDict;
+
     // 외래키(IT_UN_NUM)를 관리하는 주인
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "IT_UN_NUM")
@@ -55,6 +55,17 @@ public class Participant {
     @Column(name = "PA_LEVEL", nullable = false)
     private Integer paLevel;
 
+    @Column(name = "PA_AUGMENTS", columnDefinition = "TEXT")
+    private String paAugments;
+
+    // PA_AUGMENTS 의 tft_dict 번호를 같은 순서로 쉼표로 이은 값
+    @Column(name = "PA_AUGMENT_DICTS", length = 64)
+    private String paAugmentDicts;
+
+    // 유닛/아이템/시너지를 압축한 값 (batch 와 웹이 저장 시 채움, 없으면 아래 연관 테이블에서 읽음)
+    @Column(name = "PA_BOARD", columnDefinition = "BLOB")
+    private byte[] paBoard;
+
     // 유닛과 시너지 연결
     @BatchSize(size = 100)
     @OneToMany(mappedBy = "participant", cascade = CascadeType.ALL, orphanRemoval = true)
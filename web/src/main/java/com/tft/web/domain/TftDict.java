@@ -0,0 +1,34 @@
+package com.tft.web.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 유닛 / 아이템 / 시너지 / 증강 Riot ID 의 사전입니다.
+ * unit / item / trait / participant 는 긴 문자열 ID 대신 이 표의 번호(DI_NUM)를 함께 저장합니다.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@Table(name = "tft_dict", uniqueConstraints = @UniqueConstraint(columnNames = {"DI_KIND", "DI_NAME"}))
+public class TftDict {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "DI_NUM")
+    private Integer diNum;
+
+    // UNIT, ITEM, TRAIT, AUGMENT
+    @Column(name = "DI_KIND", nullable = false, length = 10)
+    private String diKind;
+
+    @Column(name = "DI_NAME", nullable = false, length = 100)
+    private String diName;
+}
@@ -32,6 +32,10 @@ public class Trait {
     @Column(name = "TR_STYLE", nullable = false)
     private Integer trStyle;
 
+    // TR_NAME 의 tft_dict 번호
+    @Column(name = "TR_DICT")
+    private Integer trDict;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "TR_PA_NUM")
     private Participant participant;
@@ -37,6 +37,10 @@ public class Unit {
     @Column(name = "UN_COST", nullable = false)
     private Integer unCost;
 
+    // UN_ID 의 tft_dict 번호 (외래 키는 batch 가 관리)
+    @Column(name = "UN_DICT")
+    private Integer unDict;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UN_PA_NUM")
     private Participant participant;
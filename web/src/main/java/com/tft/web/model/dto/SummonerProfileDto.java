@@ -33,6 +33,8 @@ public class SummonerProfileDto {
     private boolean isFetching;
     private int collectedCount;
     private int totalCount; // 이건 리그 정보 등에서 가져오거나 큐 정보에서 추산
+    private long queuePosition; // 전적 갱신 대기열 순번 (1부터, 0 이면 대기 중 아님)
+    private long etaMinutes = -1; // 전적 갱신 예상 대기 시간(분), 알 수 없으면 -1
 
     // [추가] LP 변화 추이 데이터
     private java.util.List<Integer> lpHistory;     // 그래프 Y축용 (환산 점수)
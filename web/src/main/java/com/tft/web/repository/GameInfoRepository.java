@@ -2,9 +2,13 @@ package com.tft.web.repository;
 
 import com.tft.web.domain.GameInfo;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +17,17 @@ public interface GameInfoRepository extends JpaRepository<GameInfo, Integer> {
     boolean existsByGaId(String gaId);
 
     Optional<GameInfo> findByGaId(String matchId);
-}
\ No newline at end of file
+
+    // 같은 GA_ID 가 이미 있으면 아무것도 하지 않습니다. (반환값 1 = 새로 저장, 0 = 이미 있음)
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO game_info (GA_ID, GA_DATETIME, GA_VERSION, queue_id)
+            VALUES (:gaId, :gaDatetime, :gaVersion, :queueId)
+            """, nativeQuery = true)
+    int insertIgnore(@Param("gaId") String gaId, @Param("gaDatetime") LocalDateTime gaDatetime,
+                     @Param("gaVersion") String gaVersion, @Param("queueId") Integer queueId);
+
+    // 같은 커넥션에서 마지막으로 INSERT 된 AUTO_INCREMENT 값
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long lastInsertId();
+}
@@ -31,6 +31,9 @@ public interface ParticipantRepository extends JpaRepository<Participant, Intege
 
         int countByPaPuuid(String puuid);
 
+        // Riot API 장애 시 Riot ID → PUUID 를 수집된 전적에서 찾기 위한 조회
+        Participant findTopByPaNameAndPaTagOrderByPaNumDesc(String paName, String paTag);
+
         @org.springframework.data.jpa.repository.Query("SELECT p FROM Participant p WHERE p.paName = :name ORDER BY p.gameInfo.gaDatetime DESC")
         List<Participant> findByPaName(String name);
 
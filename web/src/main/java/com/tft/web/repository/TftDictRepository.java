@@ -0,0 +1,23 @@
+package com.tft.web.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tft.web.domain.TftDict;
+
+@Repository
+public interface TftDictRepository extends JpaRepository<TftDict, Integer> {
+
+    List<TftDict> findByDiKindAndDiNameIn(String diKind, Collection<String> diNames);
+
+    // 이미 있는 이름이면 아무것도 하지 않습니다. (배치와 동시에 등록해도 UNIQUE(DI_KIND, DI_NAME) 로 하나만 남음)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tft_dict (DI_KIND, DI_NAME) VALUES (:kind, :name)", nativeQuery = true)
+    int insertIgnore(@Param("kind") String kind, @Param("name") String name);
+}
@@ -0,0 +1,87 @@
+package com.tft.web.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 배치의 /api/queue/stats 를 읽어 전적 갱신 예상 대기 시간을 계산합니다.
+ * 소환사 페이지마다 배치를 호출하지 않도록 응답을 잠시 캐시하고, 배치가 응답하지 않으면 예상 시간을 표시하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchQueueClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${batch.base-url:http://batch:8080}")
+    private String baseUrl;
+
+    @Value("${batch.stats.cache-ms:10000}")
+    private long cacheMillis;
+
+    @Value("${batch.stats.timeout-ms:300}")
+    private long timeoutMillis;
+
+    private volatile JsonNode cachedStats;
+    private volatile long cachedAt;
+
+    /**
+     * @param queuePosition SUMMONER 레인에서의 순번 (1부터)
+     * @param missingMatches 아직 수집되지 않은 매치 수
+     * @return 예상 대기 시간(분, 올림), 처리량을 알 수 없으면 -1
+     */
+    public long estimateMinutes(long queuePosition, long missingMatches) {
+        JsonNode lanes = stats().path("lanes");
+        double summonerRate = lanes.path("SUMMONER").path("completedPerMinute").asDouble(0);
+        double matchRate = lanes.path("MATCH").path("completedPerMinute").asDouble(0);
+        if (summonerRate <= 0 || (missingMatches > 0 && matchRate <= 0)) {
+            return -1;
+        }
+        // 웹 요청으로 들어온 매치는 web 구간에서 먼저 처리되므로, 같은 구간에 앞서 쌓인 매치만 기다린다고 봅니다.
+        long matchesAhead = lanes.path("MATCH").path("bands").path("web").path("count").asLong(0);
+        double minutes = queuePosition / summonerRate;
+        if (missingMatches > 0) {
+            minutes += (matchesAhead + missingMatches) / matchRate;
+        }
+        return (long) Math.ceil(minutes);
+    }
+
+    private JsonNode stats() {
+        JsonNode current = cachedStats;
+        if (current != null && System.currentTimeMillis() - cachedAt < cacheMillis) {
+            return current;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/queue/stats"))
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .GET()
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                current = objectMapper.readTree(response.body());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Failed to read batch queue stats: {}", e.getMessage());
+        }
+        // 실패해도 캐시 시각은 갱신해서, 배치가 내려간 동안 요청마다 타임아웃을 기다리지 않게 합니다.
+        cachedStats = current != null ? current : objectMapper.createObjectNode();
+        cachedAt = System.currentTimeMillis();
+        return cachedStats;
+    }
+}
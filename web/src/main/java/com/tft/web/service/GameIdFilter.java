@@ -0,0 +1,92 @@
+package com.tft.web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 배치 모듈의 GameIdFilter(저장된 GA_ID 의 Bloom filter, tft:bloom:gaid)에 웹이 저장한 매치를 넣습니다.
+ * 배치는 필터에 없는 ID 를 새 게임으로 보고 MATCH 작업을 만들므로, 웹에서 저장한 게임도 넣어야 Riot 을 다시 호출하지 않습니다.
+ * 비트 수와 해시 수는 배치가 tft:bloom:gaid:layout 에 올린 값을 쓰고, 비트 위치 계산은 배치와 같아야 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameIdFilter {
+
+    private static final String FILTER_KEY = "tft:bloom:gaid";
+    private static final String BUILDING_KEY = "tft:bloom:gaid:building";
+    private static final String LAYOUT_KEY = "tft:bloom:gaid:layout";
+
+    // 배치 모듈의 ADD_SCRIPT 와 동일합니다. 이미 있는 키(사용 중인 필터, 다시 만드는 중인 필터)에만 비트를 켭니다.
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            local updated = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then
+                    for i = 1, #ARGV do
+                        redis.call('SETBIT', key, ARGV[i], 1)
+                    end
+                    updated = updated + 1
+                end
+            end
+            return updated
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 실패해도 매치 저장은 그대로 두고 로그만 남깁니다. (배치는 필터에 없는 ID 를 DB 가 아닌 Riot 에서 다시 받을 뿐)
+     */
+    public void add(String gaId) {
+        try {
+            // 배치가 비트 수를 바꿔 다시 만들 수 있으므로 매번 읽습니다. (웹 저장은 드물어 GET 한 번이면 충분)
+            String layout = redisTemplate.opsForValue().get(LAYOUT_KEY);
+            if (layout == null) return; // 배치가 아직 필터를 만든 적 없음
+            String[] parts = layout.split(":");
+            long bits = Long.parseLong(parts[0]);
+            int hashes = Integer.parseInt(parts[1]);
+            List<String> args = new ArrayList<>(hashes);
+            for (long offset : offsets(gaId, hashes, bits)) {
+                args.add(String.valueOf(offset));
+            }
+            redisTemplate.execute(ADD_SCRIPT, List.of(FILTER_KEY, BUILDING_KEY), args.toArray());
+        } catch (Exception e) {
+            log.warn("Failed to add {} to GA_ID filter: {}", gaId, e.getMessage());
+        }
+    }
+
+    /**
+     * 배치 모듈의 GameIdFilter.offsets 와 같은 계산입니다. (Kirsch-Mitzenmacher double hashing)
+     */
+    static long[] offsets(String value, int k, long bits) {
+        long h1 = fnv1a64(value.getBytes(StandardCharsets.UTF_8));
+        long h2 = mix64(h1) | 1;
+        long[] offsets = new long[k];
+        for (int i = 0; i < k; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return offsets;
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
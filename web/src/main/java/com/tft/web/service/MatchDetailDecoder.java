@@ -0,0 +1,246 @@
+package com.tft.web.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tft.web.domain.GameInfo;
+import com.tft.web.domain.Item;
+import com.tft.web.domain.Participant;
+import com.tft.web.domain.Trait;
+import com.tft.web.domain.Unit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 매치 상세 응답(20~40KB)을 토큰 단위로 읽어 저장에 필요한 필드만 곧바로 엔티티로 만듭니다.
+ * Map 과 MetadataDto/InfoDto 변환을 거치지 않으므로 매치당 객체 그래프를 한 벌만 할당하고,
+ * 나머지 필드는 skipChildren 으로 건너뜁니다. 화면용 DTO 는 저장된 엔티티에서 convertEntityToDto 로 만듭니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchDetailDecoder {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    private final ObjectMapper objectMapper;
+
+    public GameInfo decode(InputStream in) throws IOException {
+        try (JsonParser p = objectMapper.getFactory().createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Match detail must be a JSON object");
+            }
+            GameInfo gameInfo = new GameInfo();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "metadata" -> readMetadata(p, gameInfo);
+                    case "info" -> readInfo(p, gameInfo);
+                    default -> p.skipChildren();
+                }
+            }
+            return gameInfo;
+        }
+    }
+
+    private void readMetadata(JsonParser p, GameInfo gameInfo) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "match_id" -> gameInfo.setGaId(text(p));
+                case "data_version" -> gameInfo.setGaVersion(text(p));
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readInfo(JsonParser p, GameInfo gameInfo) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "game_datetime" -> {
+                    if (p.currentToken() != JsonToken.VALUE_NULL) {
+                        gameInfo.setGaDatetime(Instant.ofEpochMilli(p.getLongValue()).atZone(SEOUL).toLocalDateTime());
+                    }
+                }
+                case "queueId" -> gameInfo.setQueueId(integer(p));
+                case "participants" -> {
+                    if (p.currentToken() != JsonToken.START_ARRAY) {
+                        p.skipChildren();
+                        break;
+                    }
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        Participant participant = readParticipant(p);
+                        participant.setGameInfo(gameInfo);
+                        gameInfo.getParticipants().add(participant);
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private Participant readParticipant(JsonParser p) throws IOException {
+        Participant participant = new Participant();
+        participant.setPaName("");
+        participant.setPaTag("");
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "puuid" -> participant.setPaPuuid(text(p));
+                case "placement" -> participant.setPaPlacement(integer(p));
+                case "level" -> participant.setPaLevel(integer(p));
+                case "gold_left" -> participant.setPaGold(integer(p));
+                case "riotIdGameName" -> {
+                    String name = text(p);
+                    if (name != null) participant.setPaName(name);
+                }
+                case "riotIdTagline" -> {
+                    String tag = text(p);
+                    if (tag != null) participant.setPaTag(tag);
+                }
+                case "companion" -> participant.setPaCompanionId(readCompanionId(p));
+                case "traits" -> readTraits(p, participant);
+                case "units" -> readUnits(p, participant);
+                case "augments" -> {
+                    List<String> augments = strings(p);
+                    if (augments != null) participant.setPaAugments(String.join(",", augments));
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return participant;
+    }
+
+    private Integer readCompanionId(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        Integer itemId = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("item_ID".equals(field)) {
+                itemId = integer(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return itemId;
+    }
+
+    private void readTraits(JsonParser p, Participant participant) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            Integer numUnits = null;
+            Integer style = null;
+            int tierCurrent = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "name" -> name = text(p);
+                    case "num_units" -> numUnits = integer(p);
+                    case "style" -> style = integer(p);
+                    case "tier_current" -> {
+                        Integer value = integer(p);
+                        tierCurrent = value != null ? value : 0;
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            // 활성화된 시너지만 저장합니다.
+            if (tierCurrent > 0) {
+                Trait trait = new Trait();
+                trait.setTrName(name);
+                trait.setTrNumUnits(numUnits);
+                trait.setTrStyle(style);
+                trait.setParticipant(participant);
+                participant.getTraits().add(trait);
+            }
+        }
+    }
+
+    private void readUnits(JsonParser p, Participant participant) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Unit unit = new Unit();
+            List<String> itemNames = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "character_id" -> {
+                        String characterId = text(p);
+                        unit.setUnId(characterId);
+                        unit.setUnName(characterId); // KoName은 웹에서 매핑
+                    }
+                    case "tier" -> unit.setUnTier(integer(p));
+                    case "rarity" -> unit.setUnCost(integer(p)); // Riot API에서는 rarity가 cost 개념
+                    case "itemNames" -> itemNames = strings(p);
+                    default -> p.skipChildren();
+                }
+            }
+            unit.setParticipant(participant);
+            participant.getUnits().add(unit);
+
+            if (itemNames != null && !itemNames.isEmpty()) {
+                Item item = new Item();
+                item.setItFirst(itemNames.get(0));
+                item.setItSecond(itemNames.size() > 1 ? itemNames.get(1) : null);
+                item.setItThird(itemNames.size() > 2 ? itemNames.get(2) : null);
+                item.setUnit(unit);
+                unit.setItem(item);
+            }
+        }
+    }
+
+    private static List<String> strings(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>(4);
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String value = text(p);
+            if (value != null) values.add(value);
+        }
+        return values;
+    }
+
+    private static String text(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getText();
+    }
+
+    private static Integer integer(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getIntValue();
+    }
+}
@@ -0,0 +1,42 @@
+package com.tft.web.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tft.web.domain.GameInfo;
+import com.tft.web.repository.GameInfoRepository;
+import com.tft.web.repository.ParticipantRepository;
+
+/**
+ * 웹에서 Riot 으로 받은 매치를 저장합니다.
+ * game_info 를 INSERT IGNORE 로 먼저 넣고, 새로 들어간 경우에만 참가자(유닛/아이템/시너지 cascade)를 저장합니다.
+ * 배치 워커나 다른 웹 요청이 같은 매치를 동시에 저장해도 유니크 제약 오류로 전체가 롤백되지 않습니다.
+ * 조회 서비스의 읽기 전용 트랜잭션 안에서 불리므로 별도 트랜잭션(REQUIRES_NEW)으로 씁니다.
+ * 사전 번호는 호출하는 쪽이 TftDictionary.encode 로 먼저 채웁니다. (여기서 하면 사전 등록 트랜잭션까지 커넥션 셋을 잡음)
+ */
+@Service
+public class MatchSaveService {
+
+    @Autowired
+    private GameInfoRepository gameInfoRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    /**
+     * @return 새로 저장했으면 true, 이미 있는 매치면 false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean save(GameInfo game) {
+        int inserted = gameInfoRepository.insertIgnore(game.getGaId(), game.getGaDatetime(),
+                game.getGaVersion(), game.getQueueId());
+        if (inserted == 0) {
+            return false;
+        }
+        // 참가자는 id 가 채워진 game 을 FK 로만 참조합니다. (game 자체는 다시 INSERT 하지 않음)
+        game.setGaNum(gameInfoRepository.lastInsertId().intValue());
+        participantRepository.saveAll(game.getParticipants());
+        return true;
+    }
+}
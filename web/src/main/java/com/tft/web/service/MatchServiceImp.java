@@ -1,7 +1,5 @@
 package com.tft.web.service;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -11,24 +9,15 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.tft.web.domain.GameInfo;
-import com.tft.web.domain.Item;
 import com.tft.web.domain.Participant;
-import com.tft.web.domain.Trait;
-import com.tft.web.domain.Unit;
 import com.tft.web.model.dto.CompanionDto;
 import com.tft.web.model.dto.InfoDto;
 import com.tft.web.model.dto.MatchApiDto;
@@ -38,19 +27,13 @@ import com.tft.web.model.dto.UnitDto;
 import com.tft.web.repository.GameInfoRepository;
 import com.tft.web.repository.ParticipantRepository;
 
-import jakarta.transaction.Transactional;
-
 import com.tft.web.model.dto.TraitDto;
 
 @Service
 @org.springframework.transaction.annotation.Transactional(readOnly = true)
 public class MatchServiceImp implements MatchService {
 
-    @Value("${riot.api.key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<List<String>> MATCH_IDS = new TypeReference<>() {};
 
     @Autowired
     private TftStaticDataService tftStaticDataService;
@@ -58,6 +41,16 @@ public class MatchServiceImp implements MatchService {
     private GameInfoRepository gameInfoRepository;
     @Autowired
     private ParticipantRepository participantRepository;
+    @Autowired
+    private RiotHttpClient riotHttpClient;
+    @Autowired
+    private MatchDetailDecoder matchDetailDecoder;
+    @Autowired
+    private MatchSaveService matchSaveService;
+    @Autowired
+    private GameIdFilter gameIdFilter;
+    @Autowired
+    private TftDictionary tftDictionary;
 
     @Override
     public List<String> getMatchIds(String puuid) {
@@ -66,24 +59,16 @@ public class MatchServiceImp implements MatchService {
 
     // API 호출하여 시즌 16 게임 중 puuid 소환사의 matchId를 count개 만큼 가져옴.
     public List<String> getMatchIds(String puuid, int count) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Riot-Token", apiKey);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
         long seasonStartEpoch = 1776178800L; // 2026년 4월 15일 기준
 
         try {
             // startTime을 추가하여 전시즌 데이터 유입 방지
-            String url = "https://asia.api.riotgames.com/tft/match/v1/matches/by-puuid/" + puuid 
+            String path = "/tft/match/v1/matches/by-puuid/" + puuid 
                     + "/ids?start=0&count=" + count
                     + "&startTime=" + seasonStartEpoch;
 
-            ResponseEntity<List<String>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity,
-                    new org.springframework.core.ParameterizedTypeReference<List<String>>() {}
-            );
-
-            return response.getBody() != null ? response.getBody() : new ArrayList<>();
+            List<String> ids = riotHttpClient.get(RiotRateLimiter.ASIA, path, MATCH_IDS);
+            return ids != null ? ids : new ArrayList<>();
         } catch (Exception e) {
             System.err.println("매치 ID 조회 실패: " + e.getMessage());
             return new ArrayList<>();
@@ -110,26 +95,24 @@ public class MatchServiceImp implements MatchService {
             // DB에 데이터가 있다면 엔티티를 DTO로 변환해서 즉시 반환 (API 호출 안함)
             return convertEntityToDto(existingGame.get(), myPuuid);
         }
-        // 없다면 API 호출.
-        String url = "https://asia.api.riotgames.com/tft/match/v1/matches/" + matchId;
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Riot-Token", apiKey);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
+        // 없다면 API 호출. (응답을 스트리밍으로 읽어 바로 엔티티를 만듭니다)
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-            Map<String, Object> body = response.getBody();
-            if (body == null) return null;
-
-            // API에서 받은 원시 데이터 -> 자바 객체(DTO)
-            MetadataDto metadata = objectMapper.convertValue(body.get("metadata"), MetadataDto.class);
-            InfoDto info = objectMapper.convertValue(body.get("info"), InfoDto.class);
-            info.setGame_mode(getGameModeName(info.getQueue_id()));
-
-            // 이미 DB에 있는 매치인지 체크하고 저장하는 로직을 호출.
-            saveMatchToDatabase(metadata, info);
+            GameInfo game = riotHttpClient.get(RiotRateLimiter.ASIA, "/tft/match/v1/matches/" + matchId,
+                    matchDetailDecoder::decode);
+            if (game == null) return null;
+
+            // 사전 번호와 압축 보드(PA_BOARD)를 저장 트랜잭션 밖에서 먼저 채웁니다.
+            tftDictionary.encode(game);
+            for (Participant participant : game.getParticipants()) {
+                participant.setPaBoard(BoardCodec.encode(participant));
+            }
+            // 저장 (다른 요청/배치가 먼저 저장했으면 건너뜀)
+            if (matchSaveService.save(game)) {
+                // 커밋된 뒤에 넣어야 배치가 이 게임을 다시 MATCH 작업으로 만들지 않습니다.
+                gameIdFilter.add(game.getGaId());
+            }
             // 화면용 데이터로 가공 후 반환
-            return processDtoForView(metadata, info, myPuuid);
+            return convertEntityToDto(game, myPuuid);
 
         } catch (Exception e) {
             System.err.println("매치 상세 조회 실패: " + matchId);
@@ -165,30 +148,29 @@ public class MatchServiceImp implements MatchService {
                 pDto.setCompanion(cDto);
             }
 
+            // 보드 복원 (PA_BOARD 가 있으면 unit / item / trait 테이블을 읽지 않음)
+            BoardCodec.Board board = BoardCodec.boardOf(pa);
+
             // 시너지 복원
-            pDto.setTraits(pa.getTraits().stream().map(t -> {
+            pDto.setTraits(board.traits().stream().map(t -> {
                 TraitDto tDto = new TraitDto();
-                tDto.setName(t.getTrName());
-                tDto.setNum_units(t.getTrNumUnits());
-                tDto.setStyle(t.getTrStyle());
+                tDto.setName(t.name());
+                tDto.setNum_units(t.numUnits());
+                tDto.setStyle(t.style());
                 tDto.setTier_current(1); // DB에 저장되었다는 건 활성화되었다는 뜻
                 return tDto;
             }).collect(Collectors.toList()));
 
             // 유닛 복원
-            pDto.setUnits(pa.getUnits().stream().map(u -> {
+            pDto.setUnits(board.units().stream().map(u -> {
                 UnitDto uDto = new UnitDto();
-                uDto.setCharacterId(u.getUnId());
-                uDto.setStar(u.getUnTier());
-                uDto.setCost(u.getUnCost());
+                uDto.setCharacterId(u.id());
+                uDto.setStar(u.star());
+                uDto.setCost(u.cost());
                 
                 // 아이템 복원
-                if (u.getItem() != null) {
-                    List<String> items = new ArrayList<>();
-                    if (u.getItem().getItFirst() != null) items.add(u.getItem().getItFirst());
-                    if (u.getItem().getItSecond() != null) items.add(u.getItem().getItSecond());
-                    if (u.getItem().getItThird() != null) items.add(u.getItem().getItThird());
-                    uDto.setItems(items);
+                if (!u.items().isEmpty()) {
+                    uDto.setItems(new ArrayList<>(u.items()));
                 }
                 return uDto;
             }).collect(Collectors.toList()));
@@ -337,94 +319,4 @@ public class MatchServiceImp implements MatchService {
 
         return new PageImpl<>(pagedDtos, pageable, participantPage.getTotalElements());
     }
-
-    @Transactional
-    public void saveMatchToDatabase(MetadataDto metadata, InfoDto info) {
-        // 1. 중복 체크 (DTO 필드명이 match_id이므로 getMatch_id() 호출)
-        if (gameInfoRepository.existsByGaId(metadata.getMatch_id())) {
-            return; 
-        }
-
-        // 2. GameInfo 엔티티 생성
-        GameInfo game = new GameInfo();
-        game.setGaId(metadata.getMatch_id());
-        long timestampMs = info.getGame_datetime();
-
-        // 밀리초 -> 한국 시간으로 변환
-        LocalDateTime gameDateTime = Instant
-                .ofEpochMilli(timestampMs)
-                .atZone(ZoneId.of("Asia/Seoul"))
-                .toLocalDateTime();
-
-        game.setGaDatetime(gameDateTime);
-
-        game.setGaVersion(metadata.getData_version());
-        game.setQueueId(info.getQueue_id());
-
-        // 3. 참가자들(Participants) 순회
-        for (ParticipantDto pDto : info.getParticipants()) {
-            // 엔티티 생성후 DTO의 값 넣어줌 : DB 저장을 위한 작업 
-            Participant p = new Participant();
-            p.setPaPuuid(pDto.getPuuid());
-            p.setPaPlacement(pDto.getPlacement());
-            p.setPaLevel(pDto.getLevel());
-            p.setPaGold(pDto.getGold_left());
-            p.setPaName(pDto.getRiotIdGameName());
-            p.setPaTag(pDto.getRiotIdTagline());
-
-            if (pDto.getCompanion() != null) {
-                p.setPaCompanionId(pDto.getCompanion().getItem_ID());
-            }
-            
-            // 양방향 관계 설정
-            p.setGameInfo(game);
-            game.getParticipants().add(p);
-
-            // 4. 시너지(Traits) 순회
-            if (pDto.getTraits() != null) {
-                for (TraitDto tDto : pDto.getTraits()) {
-                    // 활성화된 시너지만 저장 (tier_current가 0보다 클 때)
-                    if (tDto.getTier_current() > 0) { 
-                        Trait t = new Trait();
-                        t.setTrName(tDto.getName());
-                        t.setTrNumUnits(tDto.getNum_units());
-                        t.setTrStyle(tDto.getStyle());
-                        
-                        t.setParticipant(p);
-                        p.getTraits().add(t);
-                    }
-                }
-            }
-
-            // 5. 유닛(Units) 순회
-            if (pDto.getUnits() != null) {
-                for (UnitDto uDto : pDto.getUnits()) {
-                    Unit u = new Unit();
-                    u.setUnId(uDto.getCharacterId());
-                    u.setUnTier(uDto.getStar());
-                    u.setUnName(uDto.getCharacterId());
-                    u.setUnCost(uDto.getCost());
-                    u.setParticipant(p);
-                    p.getUnits().add(u);
-
-                    // 6. 아이템 저장 (1:1 관계)
-                    // DTO의 아이템 리스트 필드명이 getItems() 인지 확인해주세요!
-                    if (uDto.getItems() != null && !uDto.getItems().isEmpty()) {
-                        Item item = new Item();
-                        List<String> itemList = uDto.getItems();
-                        
-                        item.setItFirst(itemList.size() > 0 ? itemList.get(0) : null);
-                        item.setItSecond(itemList.size() > 1 ? itemList.get(1) : null);
-                        item.setItThird(itemList.size() > 2 ? itemList.get(2) : null);
-                        
-                        item.setUnit(u);
-                        u.setItem(item);
-                    }
-                }
-            }
-        }
-
-        // 7. DB 저장 (Cascade에 의해 하위 객체들 자동 INSERT)
-        gameInfoRepository.save(game);
-    }
 }
@@ -0,0 +1,35 @@
+package com.tft.web.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 앱 키 한도 "limit:seconds" 한 칸입니다. (예: 20:1,100:120)
+ * 배치 모듈의 RateLimitWindow 와 같은 형식이며, 배치가 Redis 에 게시한 윈도우 값을 읽을 때 사용합니다.
+ */
+record RateLimitWindow(int limit, int periodSeconds) {
+
+    /**
+     * "20:1,100:120" 형식의 값을 윈도우 목록으로 바꿉니다. 형식이 맞지 않는 칸은 건너뜁니다.
+     */
+    static List<RateLimitWindow> parse(String value) {
+        List<RateLimitWindow> windows = new ArrayList<>(2);
+        if (value == null || value.isBlank()) return windows;
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) continue;
+            try {
+                int limit = Integer.parseInt(pair[0].trim());
+                int period = Integer.parseInt(pair[1].trim());
+                if (limit > 0 && period > 0) windows.add(new RateLimitWindow(limit, period));
+            } catch (NumberFormatException ignored) {
+                // 알 수 없는 형식은 무시하고 기본 한도를 유지합니다.
+            }
+        }
+        return windows;
+    }
+
+    long periodMillis() {
+        return periodSeconds * 1000L;
+    }
+}
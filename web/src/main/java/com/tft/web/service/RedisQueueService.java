@@ -1,6 +1,10 @@
 package com.tft.web.service;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
@@ -9,15 +13,63 @@ import lombok.RequiredArgsConstructor;
 public class RedisQueueService {
     
     private final StringRedisTemplate redisTemplate;
-    private static final String QUEUE_KEY = "tft:queue:ready";
+    // 작업 종류마다 ready 레인이 따로 있습니다. (tft:queue:ready:SUMMONER 등)
+    private static final String LANE_PREFIX = "tft:queue:ready:";
+    // 작업별 "기본 우선순위|최초 등록 시각(epoch 초)"
+    private static final String META_KEY = "tft:queue:meta";
+    // 배치 워커는 이 리스트를 BLPOP 으로 기다리다가 작업이 들어오면 바로 깨어납니다.
+    private static final String SIGNAL_KEY = "tft:queue:signal";
+    private static final int MAX_SIGNALS = 64;
+
+    // 배치 모듈의 RedisQueueService 와 동일한 스크립트입니다.
+    // 이미 있는 작업은 우선순위는 큰 값, 등록 시각은 이른 값으로 합치고 대기 중인 워커를 깨웁니다.
+    private static final RedisScript<Long> PUSH_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local aging = tonumber(ARGV[2])
+            local n = 0
+            for i = 4, #ARGV, 2 do
+                local member = ARGV[i + 1]
+                local priority = tonumber(ARGV[i])
+                local enqueuedAt = now
+                local meta = redis.call('HGET', KEYS[2], member)
+                if meta then
+                    local sep = string.find(meta, '|', 1, true)
+                    priority = math.max(priority, tonumber(string.sub(meta, 1, sep - 1)))
+                    enqueuedAt = math.min(enqueuedAt, tonumber(string.sub(meta, sep + 1)))
+                end
+                redis.call('HSET', KEYS[2], member, priority .. '|' .. enqueuedAt)
+                redis.call('ZADD', KEYS[1], priority - enqueuedAt / aging, member)
+                n = n + 1
+            end
+            for i = 1, math.min(n, tonumber(ARGV[3])) do
+                redis.call('LPUSH', KEYS[3], '1')
+            end
+            redis.call('LTRIM', KEYS[3], 0, tonumber(ARGV[3]) - 1)
+            return n
+            """, Long.class);
+
+    // 배치 모듈의 queue.aging-seconds-per-point 와 같은 값이어야 합니다.
+    @Value("${queue.aging-seconds-per-point:600}")
+    private double agingSecondsPerPoint;
+
+    /**
+     * 작업이 해당 레인에서 몇 번째로 처리될지 추정합니다. (레인 score 내림차순 순번)
+     * @return 1부터 시작하는 순번, 레인에 없으면(이미 처리 중이거나 끝났으면) 0
+     */
+    public long queuePosition(String id, String type) {
+        Long rank = redisTemplate.opsForZSet().reverseRank(LANE_PREFIX + type, type + ":" + id);
+        return rank != null ? rank + 1 : 0;
+    }
 
     /**
-     * 작업을 ZSet 기반 대기열에 추가합니다.
-     * 이미 동일한 작업(type:puuid)이 있다면 우선순위(priority)만 갱신됩니다.
+     * 작업을 종류별 ZSet 대기열에 추가합니다.
+     * 이미 동일한 작업(type:puuid)이 있다면 우선순위가 더 높을 때만 올라가고, 낮아지지는 않습니다.
      */
     public void pushTask(String id, String type, double priority) {
         // "SUMMONER:puuid" 또는 "MATCH:matchId" 형식으로 저장
         String value = type + ":" + id;
-        redisTemplate.opsForZSet().add(QUEUE_KEY, value, priority);
+        redisTemplate.execute(PUSH_SCRIPT, List.of(LANE_PREFIX + type, META_KEY, SIGNAL_KEY),
+                String.valueOf(System.currentTimeMillis() / 1000), String.valueOf(agingSecondsPerPoint),
+                String.valueOf(MAX_SIGNALS), String.valueOf(priority), value);
     }
 }
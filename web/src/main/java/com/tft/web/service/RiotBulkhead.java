@@ -0,0 +1,48 @@
+package com.tft.web.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 엔드포인트 묶음별로 웹에서 동시에 보낼 수 있는 Riot 호출 수를 제한합니다. (bulkhead)
+ * Riot 응답이 느려져도 톰캣 스레드가 Riot 호출에 모두 묶이지 않도록, 자리가 없으면 잠깐만 기다린 뒤 거절합니다.
+ */
+@Component
+public class RiotBulkhead {
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+
+    public RiotBulkhead(@Value("${riot.bulkhead.max-concurrent:8}") int maxConcurrent,
+                        @Value("${riot.bulkhead.max-wait-ms:100}") long maxWaitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public void acquire(String family) {
+        boolean acquired;
+        try {
+            acquired = semaphore(family).tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new RiotUnavailableException("Riot API " + family + " bulkhead is full", family, System.currentTimeMillis());
+        }
+    }
+
+    public void release(String family) {
+        semaphore(family).release();
+    }
+
+    private Semaphore semaphore(String family) {
+        return permits.computeIfAbsent(family, f -> new Semaphore(maxConcurrent));
+    }
+}
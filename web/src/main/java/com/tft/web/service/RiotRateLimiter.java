@@ -0,0 +1,199 @@
+package com.tft.web.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 배치 서버와 같은 Redis 슬라이딩 윈도우(tft:ratelimit:{API 키 지문}:{host}:{period}s)를 사용해 Riot API 호출량을 함께 계산합니다.
+ * 윈도우 구성은 배치가 응답 헤더로 확인해 {host}:windows 에 게시한 앱 키 한도를 따르고, 게시 전에는 설정값을 사용합니다.
+ * 배치는 웹 몫(riot.rate-limit.web-reserve)을 남겨두고 사용하므로, 웹은 전체 한도까지 사용할 수 있습니다.
+ * 사용자 요청이 오래 묶이지 않도록 최대 대기 시간을 넘기면 429 로 처리합니다.
+ */
+@Component
+@Slf4j
+public class RiotRateLimiter {
+
+    public static final String ASIA = "asia";
+    public static final String KR = "kr";
+
+    private static final String KEY_PREFIX = "tft:ratelimit:";
+    // 배치가 게시한 윈도우를 다시 읽는 주기
+    private static final long WINDOWS_REFRESH_MILLIS = 10_000;
+
+    // 배치 모듈의 RiotRateLimiter 와 동일한 스크립트입니다.
+    // (허용되면 0, 한도 초과면 남은 대기 ms, 호스트가 일시 정지 중이면 -(재개 시각 epoch ms))
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local pausedUntil = tonumber(redis.call('GET', KEYS[#KEYS]) or '0')
+            if pausedUntil > now then
+                return -pausedUntil
+            end
+            local wait = 0
+            for i = 1, #KEYS - 1 do
+                local key = KEYS[i]
+                local limit = tonumber(ARGV[1 + i * 2])
+                local period = tonumber(ARGV[2 + i * 2])
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', now - period)
+                if redis.call('ZCARD', key) >= limit then
+                    local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                    wait = math.max(wait, tonumber(oldest[2]) + period - now)
+                end
+            end
+            if wait > 0 then
+                return wait
+            end
+            for i = 1, #KEYS - 1 do
+                redis.call('ZADD', KEYS[i], now, ARGV[2])
+                redis.call('PEXPIRE', KEYS[i], tonumber(ARGV[2 + i * 2]))
+            end
+            return 0
+            """, Long.class);
+
+    // 429 를 받은 호스트의 "paused until" 시각을 늘립니다. (이미 더 늦은 시각이면 유지)
+    private static final RedisScript<Long> PAUSE_SCRIPT = RedisScript.of("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local untilMs = tonumber(ARGV[1])
+            if untilMs > current then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', untilMs - tonumber(ARGV[2]))
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    // tft:ratelimit:{API 키 지문}:{host} - 같은 키를 쓰는 배치 노드와 윈도우를 공유합니다.
+    private final String keyPrefix;
+    private final List<RateLimitWindow> defaultWindows;
+    private final long maxWaitMillis;
+    private final Map<String, CachedWindows> hostWindows = new ConcurrentHashMap<>();
+
+    public RiotRateLimiter(StringRedisTemplate redisTemplate,
+                           @Value("${riot.rate-limit.per-second:20}") int perSecond,
+                           @Value("${riot.rate-limit.per-two-minutes:100}") int perTwoMinutes,
+                           @Value("${riot.rate-limit.web-max-wait-ms:3000}") long maxWaitMillis,
+                           @Value("${riot.api.key}") String apiKey) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = KEY_PREFIX + fingerprint(apiKey) + ":";
+        this.defaultWindows = List.of(new RateLimitWindow(perSecond, 1), new RateLimitWindow(perTwoMinutes, 120));
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * 해당 라우팅 호스트의 호출 슬롯을 얻을 때까지 대기합니다.
+     * 최대 대기 시간 안에 슬롯을 얻지 못하면 TooManyRequests 예외를 던집니다.
+     */
+    public void acquire(String host) {
+        String member = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + maxWaitMillis;
+        while (true) {
+            long waitMillis;
+            try {
+                waitMillis = tryAcquireShared(host, member);
+            } catch (DataAccessException e) {
+                // Redis 장애로 사용자 검색까지 막지는 않습니다.
+                log.warn("Shared rate limiter unavailable: {}", e.getMessage());
+                return;
+            }
+            if (waitMillis == 0) return;
+            if (waitMillis < 0) {
+                // 429 로 일시 정지된 호스트는 기다리지 않고 바로 한도 초과로 응답합니다.
+                HttpHeaders headers = new HttpHeaders();
+                headers.set("Retry-After", String.valueOf(Math.max(1, (-waitMillis - System.currentTimeMillis()) / 1000)));
+                throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Riot API paused for " + host,
+                        headers, null, null);
+            }
+            if (System.currentTimeMillis() + waitMillis > deadline) {
+                throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Local rate limit wait exceeded",
+                        HttpHeaders.EMPTY, null, null);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Riot API rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * 429 응답을 받은 호스트의 호출을 retryAfterSeconds 동안 클러스터 전체에서 멈춥니다.
+     * 다른 호스트(예: asia 가 멈춰도 kr)는 영향을 받지 않습니다.
+     */
+    public void pause(String host, long retryAfterSeconds) {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.execute(PAUSE_SCRIPT, List.of(keyPrefix + host + ":paused-until"),
+                    String.valueOf(now + retryAfterSeconds * 1000), String.valueOf(now));
+        } catch (DataAccessException e) {
+            log.warn("Failed to record pause for {}: {}", host, e.getMessage());
+        }
+    }
+
+    private long tryAcquireShared(String host, String member) {
+        String prefix = keyPrefix + host;
+        List<RateLimitWindow> windows = windows(host);
+        List<String> keys = new ArrayList<>(windows.size() + 1);
+        List<String> args = new ArrayList<>(2 + windows.size() * 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(member);
+        for (RateLimitWindow window : windows) {
+            keys.add(prefix + ":" + window.periodSeconds() + "s");
+            args.add(String.valueOf(window.limit()));
+            args.add(String.valueOf(window.periodMillis()));
+        }
+        keys.add(prefix + ":paused-until");
+        Long wait = redisTemplate.execute(ACQUIRE_SCRIPT, keys, args.toArray());
+        return wait != null ? wait : 0;
+    }
+
+    /**
+     * 배치가 게시한 해당 호스트의 앱 키 한도(웹 몫을 빼지 않은 전체 한도)를 돌려줍니다.
+     * 게시된 값이 없으면 설정값(riot.rate-limit.per-second / per-two-minutes)을 사용합니다.
+     */
+    private List<RateLimitWindow> windows(String host) {
+        long now = System.currentTimeMillis();
+        CachedWindows cached = hostWindows.get(host);
+        if (cached != null && now - cached.loadedAt() < WINDOWS_REFRESH_MILLIS) return cached.windows();
+        List<RateLimitWindow> published = RateLimitWindow.parse(
+                redisTemplate.opsForValue().get(keyPrefix + host + ":windows"));
+        List<RateLimitWindow> windows = published.isEmpty() ? defaultWindows : published;
+        if (cached == null || !windows.equals(cached.windows())) {
+            log.info("Riot app rate limit for {} loaded: {}", host, windows);
+        }
+        hostWindows.put(host, new CachedWindows(windows, now));
+        return windows;
+    }
+
+    private record CachedWindows(List<RateLimitWindow> windows, long loadedAt) {
+    }
+
+    /**
+     * API 키 원문 대신 Redis 키에 넣을 짧은 지문(SHA-256 앞 8자리)입니다.
+     */
+    static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
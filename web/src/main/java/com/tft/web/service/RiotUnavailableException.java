@@ -0,0 +1,24 @@
+package com.tft.web.service;
+
+import lombok.Getter;
+
+/**
+ * 엔드포인트 묶음의 회로가 열려 있거나(Riot 장애) 동시 호출 수가 가득 차서 호출하지 않고 바로 거절했을 때 발생합니다.
+ * 화면 요청은 이 예외를 받으면 캐시나 DB 에 있는 데이터로 응답합니다.
+ */
+@Getter
+public class RiotUnavailableException extends RuntimeException {
+
+    private final String family;
+    private final long retryAtMillis;
+
+    public RiotUnavailableException(String family, long retryAtMillis) {
+        this("Riot API " + family + " is unavailable until " + retryAtMillis, family, retryAtMillis);
+    }
+
+    public RiotUnavailableException(String message, String family, long retryAtMillis) {
+        super(message);
+        this.family = family;
+        this.retryAtMillis = retryAtMillis;
+    }
+}
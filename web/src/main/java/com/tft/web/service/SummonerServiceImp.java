@@ -1,5 +1,6 @@
 package com.tft.web.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -8,20 +9,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriUtils;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.tft.web.domain.LpHistory;
 import com.tft.web.domain.Participant;
 import com.tft.web.model.dto.RiotAccountDto;
@@ -36,8 +35,7 @@ import com.tft.web.repository.ParticipantRepository;
 @org.springframework.transaction.annotation.Transactional(readOnly = true)
 public class SummonerServiceImp implements SummonerService {
 
-    @Value("${riot.api.key}")
-    private String apiKey;
+    private static final TypeReference<List<TftLeagueEntryDto>> LEAGUE_ENTRIES = new TypeReference<>() {};
 
     // [추가] 단순 메모리 캐시 (API 호출 최소화)
     private final Map<String, RiotAccountDto> accountCache = new ConcurrentHashMap<>();
@@ -52,20 +50,35 @@ public class SummonerServiceImp implements SummonerService {
     @Autowired
     private LpHistoryRepository lpHistoryRepository;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RiotHttpClient riotHttpClient;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private BatchQueueClient batchQueueClient;
 
     @Override
     @org.springframework.transaction.annotation.Transactional
     public SummonerProfileDto getSummonerData(String server, String gameName, String tagLine, Integer queueId) {
         String cacheKey = gameName + "#" + tagLine;
 
-        // 1. Riot ID → Account (캐시 확인)
+        // 1. Riot ID → Account (캐시 확인, 같은 소환사 동시 검색은 API 1회로 합침)
         RiotAccountDto account = accountCache.get(cacheKey);
         if (account == null) {
-            account = getAccountByRiotId(gameName, tagLine);
+            account = singleFlight.execute("account:" + cacheKey, () -> {
+                RiotAccountDto cached = accountCache.get(cacheKey);
+                if (cached != null)
+                    return cached;
+                RiotAccountDto loaded = withFallback(() -> getAccountByRiotId(gameName, tagLine),
+                        () -> findAccountInDb(gameName, tagLine));
+                if (loaded != null)
+                    accountCache.put(cacheKey, loaded);
+                return loaded;
+            });
             if (account == null)
                 return null;
-            accountCache.put(cacheKey, account);
         }
         String puuid = account.getPuuid();
 
@@ -75,15 +88,26 @@ public class SummonerServiceImp implements SummonerService {
             TftLeagueEntryDto cached = leagueCache.get(puuid);
             if (cached != null)
                 return cached;
-            // API 호출
-            TftLeagueEntryDto league = getTftLeagueByPuuid(puuid);
-            if (league != null)
-                leagueCache.put(puuid, league);
-            return league;
+            // API 호출 (동시에 들어온 같은 PUUID 요청은 한 번만 호출)
+            return singleFlight.execute("league:" + puuid, () -> {
+                TftLeagueEntryDto league = leagueCache.get(puuid);
+                if (league != null)
+                    return league;
+                try {
+                    league = getTftLeagueByPuuid(puuid);
+                } catch (RiotUnavailableException | HttpServerErrorException | ResourceAccessException e) {
+                    // Riot 장애 시 마지막 LP 기록으로 응답 (캐시에는 넣지 않음)
+                    return leagueFromHistory(puuid);
+                }
+                if (league != null)
+                    leagueCache.put(puuid, league);
+                return league;
+            });
         });
         // 병렬 처리 2 (소환사 레벨 및 아이콘)
         CompletableFuture<SummonerDto> summonerFuture = CompletableFuture
-                .supplyAsync(() -> getTftSummonerByPuuid(puuid));
+                .supplyAsync(() -> singleFlight.execute("summoner:" + puuid,
+                        () -> withFallback(() -> getTftSummonerByPuuid(puuid), () -> summonerFromHistory(puuid))));
 
         // 큐 등록 (상태 갱신만 수행, DB 쓰기 발생)
         updateFetchQueue(puuid);
@@ -130,6 +154,11 @@ public class SummonerServiceImp implements SummonerService {
             profile.setCollectedCount(stats != null ? stats.getTotalCount().intValue() : 0);
             profile.setTotalCount(league.getWins() + league.getLosses());
             profile.setFetching(profile.getCollectedCount() < profile.getTotalCount());
+            profile.setQueuePosition(redisQueueService.queuePosition(puuid, "SUMMONER"));
+            if (profile.getQueuePosition() > 0) {
+                profile.setEtaMinutes(batchQueueClient.estimateMinutes(profile.getQueuePosition(),
+                        profile.getTotalCount() - profile.getCollectedCount()));
+            }
             
             // 티어 날개 URL 설정
             profile.setTierWingsUrl("https://cdn.metatft.com/file/metatft/ranks/wings_" + profile.getTier().toLowerCase() + ".png");
@@ -151,6 +180,51 @@ public class SummonerServiceImp implements SummonerService {
         return profile;
     }
 
+    /**
+     * Riot 장애(회로 열림, 5xx, 타임아웃)나 동시 호출 수 초과 시 기다리지 않고 DB 데이터로 대신 응답합니다.
+     */
+    private <T> T withFallback(Supplier<T> call, Supplier<T> fallback) {
+        try {
+            return call.get();
+        } catch (RiotUnavailableException | HttpServerErrorException | ResourceAccessException e) {
+            return fallback.get();
+        }
+    }
+
+    private RiotAccountDto findAccountInDb(String gameName, String tagLine) {
+        Participant participant = participantRepository.findTopByPaNameAndPaTagOrderByPaNumDesc(gameName, tagLine);
+        if (participant == null)
+            return null;
+        RiotAccountDto account = new RiotAccountDto();
+        account.setGameName(participant.getPaName());
+        account.setTagLine(participant.getPaTag());
+        account.setPuuid(participant.getPaPuuid());
+        return account;
+    }
+
+    private TftLeagueEntryDto leagueFromHistory(String puuid) {
+        LpHistory last = lpHistoryRepository.findTopByPuuidOrderByCreatedAtDesc(puuid);
+        if (last == null)
+            return null;
+        TftLeagueEntryDto league = new TftLeagueEntryDto();
+        league.setQueueType("RANKED_TFT");
+        league.setTier(last.getTier());
+        league.setRank(last.getRank_str());
+        league.setLeaguePoints(last.getLp());
+        league.setWins(last.getWins());
+        league.setLosses(last.getLosses());
+        return league;
+    }
+
+    private SummonerDto summonerFromHistory(String puuid) {
+        LpHistory last = lpHistoryRepository.findTopByPuuidOrderByCreatedAtDesc(puuid);
+        if (last == null || last.getProfileIconId() <= 0)
+            return null;
+        SummonerDto summoner = new SummonerDto();
+        summoner.setProfileIconId(last.getProfileIconId());
+        return summoner;
+    }
+
     private void updateFetchQueue(String puuid) {
         // 기존 DB 조회 및 갱신 로직에서, Redis ZSet 삽입(혹은 갱신) 로직으로 대체 (O(logN))
         redisQueueService.pushTask(puuid, "SUMMONER", 999);
@@ -215,13 +289,13 @@ public class SummonerServiceImp implements SummonerService {
 
         // 유닛/시너지 기반 업적은 필요한 경우에만 계산 (Lazy 로딩 최소화)
         double avg3Stars = recentMatches.stream()
-                .mapToDouble(p -> p.getUnits().stream().filter(u -> u.getUnTier() == 3).count())
+                .mapToDouble(p -> BoardCodec.boardOf(p).units().stream().filter(u -> u.star() == 3).count())
                 .average().orElse(0);
         if (avg3Stars >= 2.0)
             achievements.add("✨ 리롤 장인");
 
         double avgHighValue = recentMatches.stream()
-                .mapToDouble(p -> p.getUnits().stream().filter(u -> u.getUnCost() >= 4).count())
+                .mapToDouble(p -> BoardCodec.boardOf(p).units().stream().filter(u -> u.cost() >= 4).count())
                 .average().orElse(0);
         if (avgHighValue >= 4.0)
             achievements.add("💎 고밸류 지향");
@@ -321,40 +395,19 @@ public class SummonerServiceImp implements SummonerService {
 
     // 닉네임 + 태그라인 -> PUUID
     public RiotAccountDto getAccountByRiotId(String gameName, String tagLine) {
-        String url = "https://asia.api.riotgames.com/riot/account/v1/accounts/by-riot-id/" + gameName + "/" + tagLine;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Riot-Token", apiKey);
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<RiotAccountDto> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
+        return riotHttpClient.get(RiotRateLimiter.ASIA,
+                "/riot/account/v1/accounts/by-riot-id/"
+                        + UriUtils.encodePathSegment(gameName, StandardCharsets.UTF_8) + "/"
+                        + UriUtils.encodePathSegment(tagLine, StandardCharsets.UTF_8),
                 RiotAccountDto.class);
-        System.out.println(response.getBody());
-        return response.getBody();
     }
 
     // PUUID -> TFT 관련 프로필
     public TftLeagueEntryDto getTftLeagueByPuuid(String puuid) {
-        String url = "https://kr.api.riotgames.com/tft/league/v1/by-puuid/" + puuid;
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Riot-Token", apiKey);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
         // List<TftLeagueEntryDto> 형태로 받아야 합니다.
-
         try {
-            ResponseEntity<List<TftLeagueEntryDto>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<List<TftLeagueEntryDto>>() {
-                    });
-
-            List<TftLeagueEntryDto> results = response.getBody();
+            List<TftLeagueEntryDto> results = riotHttpClient.get(RiotRateLimiter.KR,
+                    "/tft/league/v1/by-puuid/" + puuid, LEAGUE_ENTRIES);
             if (results == null || results.isEmpty())
                 return null;
 
@@ -373,19 +426,8 @@ public class SummonerServiceImp implements SummonerService {
 
     // PUUID -> 소환사 레벨, 아이콘
     public SummonerDto getTftSummonerByPuuid(String puuid) {
-        String url = "https://kr.api.riotgames.com/tft/summoner/v1/summoners/by-puuid/" + puuid;
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("X-Riot-Token", apiKey);
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<SummonerDto> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                SummonerDto.class);
-        System.out.println(response.getBody());
-        return response.getBody();
+        return riotHttpClient.get(RiotRateLimiter.KR,
+                "/tft/summoner/v1/summoners/by-puuid/" + puuid, SummonerDto.class);
     }
 
     // 플레이어 평균 등수 계산
@@ -0,0 +1,139 @@
+package com.tft.web.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tft.web.domain.GameInfo;
+import com.tft.web.domain.Item;
+import com.tft.web.domain.Participant;
+import com.tft.web.domain.TftDict;
+import com.tft.web.domain.Trait;
+import com.tft.web.domain.Unit;
+import com.tft.web.repository.TftDictRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * tft_dict(유닛 / 아이템 / 시너지 / 증강 Riot ID 사전)의 메모리 캐시입니다. 배치의 TftDictionary 와 같은 표를 씁니다.
+ * 처음 보는 이름은 별도 트랜잭션으로 바로 등록해, 매치 저장이 롤백돼도 캐시한 번호가 표에 남도록 합니다.
+ * 등록 트랜잭션이 커넥션을 하나 더 잡으므로, encode 는 매치 저장 트랜잭션 밖에서 호출합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TftDictionary {
+
+    public static final String UNIT = "UNIT";
+    public static final String ITEM = "ITEM";
+    public static final String TRAIT = "TRAIT";
+    public static final String AUGMENT = "AUGMENT";
+
+    private final TftDictRepository tftDictRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tftDictRepository.findAll().forEach(this::cache);
+    }
+
+    /**
+     * 매치의 유닛 / 아이템 / 시너지 / 증강에 사전 번호를 채웁니다. 캐시에 없는 이름은 종류마다 한 번에 등록합니다.
+     */
+    public void encode(GameInfo game) {
+        Set<String> units = new TreeSet<>();
+        Set<String> items = new TreeSet<>();
+        Set<String> traits = new TreeSet<>();
+        Set<String> augments = new TreeSet<>();
+        for (Participant p : game.getParticipants()) {
+            for (Unit u : p.getUnits()) {
+                collect(UNIT, u.getUnId(), units);
+                Item item = u.getItem();
+                if (item != null) {
+                    collect(ITEM, item.getItFirst(), items);
+                    collect(ITEM, item.getItSecond(), items);
+                    collect(ITEM, item.getItThird(), items);
+                }
+            }
+            for (Trait t : p.getTraits()) {
+                collect(TRAIT, t.getTrName(), traits);
+            }
+            for (String augment : augments(p)) {
+                collect(AUGMENT, augment, augments);
+            }
+        }
+        register(UNIT, units);
+        register(ITEM, items);
+        register(TRAIT, traits);
+        register(AUGMENT, augments);
+
+        for (Participant p : game.getParticipants()) {
+            for (Unit u : p.getUnits()) {
+                u.setUnDict(idOf(UNIT, u.getUnId()));
+                Item item = u.getItem();
+                if (item != null) {
+                    item.setItFirstDict(idOf(ITEM, item.getItFirst()));
+                    item.setItSecondDict(idOf(ITEM, item.getItSecond()));
+                    item.setItThirdDict(idOf(ITEM, item.getItThird()));
+                }
+            }
+            for (Trait t : p.getTraits()) {
+                t.setTrDict(idOf(TRAIT, t.getTrName()));
+            }
+            if (p.getPaAugments() != null) {
+                p.setPaAugmentDicts(joinIds(augments(p)));
+            }
+        }
+    }
+
+    // 캐시에 있는 번호 (등록 실패 등으로 없으면 null 로 두고, 배치의 /api/dict/backfill 이 나중에 채움)
+    private Integer idOf(String kind, String name) {
+        return name == null ? null : ids.get(kind + ":" + name);
+    }
+
+    // 번호가 하나라도 없으면 목록 전체를 비워 두어 backfill 대상으로 남깁니다. (순서가 어긋난 목록을 쓰지 않도록)
+    private String joinIds(String[] augments) {
+        StringJoiner joined = new StringJoiner(",");
+        for (String augment : augments) {
+            Integer id = idOf(AUGMENT, augment);
+            if (id == null) return null;
+            joined.add(String.valueOf(id));
+        }
+        return joined.toString();
+    }
+
+    private static String[] augments(Participant p) {
+        return p.getPaAugments() == null || p.getPaAugments().isEmpty() ? new String[0] : p.getPaAugments().split(",");
+    }
+
+    private void collect(String kind, String name, Set<String> missing) {
+        if (name != null && !ids.containsKey(kind + ":" + name)) {
+            missing.add(name);
+        }
+    }
+
+    private void register(String kind, Set<String> names) {
+        if (names.isEmpty()) return;
+        requiresNew.executeWithoutResult(status -> {
+            // 이름 순으로 넣어 배치와 동시에 등록할 때 잠금 순서가 엇갈리지 않게 합니다.
+            names.forEach(name -> tftDictRepository.insertIgnore(kind, name));
+            tftDictRepository.findByDiKindAndDiNameIn(kind, names).forEach(this::cache);
+        });
+    }
+
+    private void cache(TftDict dict) {
+        ids.put(dict.getDiKind() + ":" + dict.getDiName(), dict.getDiNum());
+    }
+}
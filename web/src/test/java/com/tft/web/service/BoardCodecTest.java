@@ -0,0 +1,52 @@
+package com.tft.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tft.web.domain.Item;
+import com.tft.web.domain.Participant;
+import com.tft.web.domain.Trait;
+import com.tft.web.domain.Unit;
+
+class BoardCodecTest {
+
+    @Test
+    void 배치_모듈과_같은_바이트로_인코딩한다() {
+        // batch 의 BoardCodecTest 와 같은 벡터입니다. 한쪽 형식만 바뀌면 여기서 깨집니다.
+        BoardCodec.Board board = new BoardCodec.Board(
+                List.of(new BoardCodec.BoardUnit("A", "a", 2, 3, List.of("I"))),
+                List.of(new BoardCodec.BoardTrait("T", 1, 2)));
+
+        assertArrayEquals(new byte[]{1, 4, 1, 65, 1, 97, 1, 73, 1, 84, 1, 0, 1, 2, 3, 1, 2, 1, 3, 1, 2},
+                BoardCodec.encode(board));
+    }
+
+    @Test
+    void 저장할_때_압축한_보드를_연관_테이블과_같게_읽는다() {
+        Participant participant = new Participant();
+        Unit unit = new Unit();
+        unit.setUnId("TFT17_Ahri");
+        unit.setUnName("아리");
+        unit.setUnTier(3);
+        unit.setUnCost(4);
+        Item item = new Item();
+        item.setItFirst("TFT_Item_JeweledGauntlet");
+        item.setItSecond("TFT_Item_Blue");
+        unit.setItem(item);
+        participant.getUnits().add(unit);
+        Trait trait = new Trait();
+        trait.setTrName("TFT17_Arcana");
+        trait.setTrNumUnits(4);
+        trait.setTrStyle(3);
+        participant.getTraits().add(trait);
+
+        BoardCodec.Board fromEntities = BoardCodec.boardOf(participant);
+        participant.setPaBoard(BoardCodec.encode(participant));
+
+        assertEquals(fromEntities, BoardCodec.boardOf(participant));
+    }
+}
@@ -0,0 +1,15 @@
+package com.tft.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+class GameIdFilterTest {
+
+    @Test
+    void 비트_위치는_batch_의_GameIdFilter_와_같다() {
+        // batch GameIdFilterTest 와 같은 값입니다. 한쪽 계산을 바꾸면 양쪽이 함께 바뀌어야 합니다.
+        assertArrayEquals(new long[] {12064740, 8291571, 4518402, 745233, 13749280, 9976111, 6202942},
+                GameIdFilter.offsets("KR_7654321098", 7, 1 << 24));
+    }
+}
@@ -0,0 +1,19 @@
+package com.tft.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimitWindowTest {
+
+    @Test
+    void 배치가_게시한_윈도우_값을_읽는다() {
+        // 배치 RateLimitWindow.format 이 만드는 값과 같은 형식이어야 합니다.
+        assertEquals(List.of(new RateLimitWindow(500, 10), new RateLimitWindow(30000, 600)),
+                RateLimitWindow.parse("500:10,30000:600"));
+        assertEquals(List.of(new RateLimitWindow(20, 1)), RateLimitWindow.parse("20:1, bad, 0:120"));
+        assertEquals(List.of(), RateLimitWindow.parse(null));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tft.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void 동시에_들어온_같은_키_요청은_한_번만_실행하고_결과를_공유한다() throws Exception {
+        int callers = 20;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 중복 요청 스레드들과 테스트 스레드가 모두 도착해야 열립니다.
+        CyclicBarrier allStarted = new CyclicBarrier(callers);
+        List<Thread> waiting = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> singleFlight.execute("account:a#KR1", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "puuid-a";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    allStarted.await(5, TimeUnit.SECONDS);
+                    waiting.add(Thread.currentThread());
+                    return singleFlight.execute("account:a#KR1", () -> {
+                        calls.incrementAndGet();
+                        return "duplicate";
+                    });
+                }));
+            }
+            allStarted.await(5, TimeUnit.SECONDS);
+            // 모든 중복 요청이 진행 중인 결과를 기다리며 멈춘 뒤에야 loader 를 풀어줍니다.
+            awaitParked(waiting, callers - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("puuid-a", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void 실행이_끝난_뒤_들어온_요청은_다시_실행한다() {
+        AtomicInteger calls = new AtomicInteger();
+        singleFlight.execute("league:p", calls::incrementAndGet);
+        singleFlight.execute("league:p", calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void 실패하면_예외를_그대로_전달한다() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("summoner:p", () -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+
+    private static void awaitParked(List<Thread> threads, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.size() < count
+                || !threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("callers did not join the in-flight call");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tft.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tft.web.domain.GameInfo;
+import com.tft.web.domain.Item;
+import com.tft.web.domain.Participant;
+import com.tft.web.domain.TftDict;
+import com.tft.web.domain.Trait;
+import com.tft.web.domain.Unit;
+import com.tft.web.repository.TftDictRepository;
+
+class TftDictionaryTest {
+
+    @Test
+    void 매치의_유닛_아이템_시너지_증강에_번호를_채운다() {
+        TftDictRepository repository = mock(TftDictRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                dict(1, "UNIT", "TFT17_Ahri"), dict(2, "ITEM", "TFT_Item_Sword"), dict(3, "TRAIT", "TFT17_Bruiser")));
+        // 캐시에 없는 증강만 등록 후 다시 읽습니다.
+        when(repository.findByDiKindAndDiNameIn(eq("AUGMENT"), anyCollection())).thenReturn(List.of(
+                dict(7, "AUGMENT", "TFT_Augment_A"), dict(8, "AUGMENT", "TFT_Augment_B")));
+        TftDictionary dictionary = new TftDictionary(repository, mock(PlatformTransactionManager.class));
+        dictionary.init();
+
+        GameInfo game = new GameInfo();
+        Participant participant = new Participant();
+        participant.setPaAugments("TFT_Augment_B,TFT_Augment_A");
+        Unit unit = new Unit();
+        unit.setUnId("TFT17_Ahri");
+        Item item = new Item();
+        item.setItFirst("TFT_Item_Sword");
+        unit.setItem(item);
+        participant.getUnits().add(unit);
+        Trait trait = new Trait();
+        trait.setTrName("TFT17_Bruiser");
+        participant.getTraits().add(trait);
+        game.getParticipants().add(participant);
+
+        dictionary.encode(game);
+
+        assertEquals(1, unit.getUnDict());
+        assertEquals(2, item.getItFirstDict());
+        assertNull(item.getItSecondDict());
+        assertEquals(3, trait.getTrDict());
+        assertEquals("8,7", participant.getPaAugmentDicts());
+        verify(repository).insertIgnore("AUGMENT", "TFT_Augment_A");
+        verify(repository).insertIgnore("AUGMENT", "TFT_Augment_B");
+        verify(repository, never()).insertIgnore(eq("UNIT"), anyString());
+    }
+
+    private static TftDict dict(int num, String kind, String name) {
+        TftDict dict = new TftDict();
+        dict.setDiNum(num);
+        dict.setDiKind(kind);
+        dict.setDiName(name);
+        return dict;
+    }
+}